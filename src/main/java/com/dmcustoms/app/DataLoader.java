@@ -42,11 +42,11 @@ public class DataLoader {
 						i--;
 						continue;
 					}
-					double balance = Math.round((Math.random() * 100000) * 100.0) / 100.0;
+					long balance = Math.round(Math.random() * 10000000);
 					cards[i] = new Card(cardNumber, Instant.now().plus(Duration.ofDays(1825)), CardStatus.ACTIVE,
-							balance, 100000000.00, 100000000.00, false);
-					cardRepository.save(cards[i]);
+							balance, 10000000000L, 10000000000L, false);
 				}
+				cardRepository.saveAll(Arrays.asList(cards));
 
 				User[] users = new User[] { new User("Ivanov", "Petr", "Sergeevich", "i.ivanov@test.com",
 						passwordEncoder.encode("password"), true, true, true, true, Arrays.asList(Authorities.USER)),
@@ -84,27 +84,22 @@ public class DataLoader {
 					users[random.nextInt(9)].addCard(card);
 				}
 
-				for (User user : users) {
-					userRepository.save(user);
-				}
+				userRepository.saveAll(Arrays.asList(users));
 
 				Card cardWithDefinedOwner1_1 = new Card("2202202044507626", Instant.now().plus(Duration.ofDays(1825)),
-						CardStatus.ACTIVE, 12350.94, 100000000.00, 100000000.00, false);
+						CardStatus.ACTIVE, 1235094L, 10000000000L, 10000000000L, false);
 				Card cardWithDefinedOwner1_2 = new Card("7634768028741925", Instant.now().plus(Duration.ofDays(1825)),
-						CardStatus.ACTIVE, 100.00, 100000000.00, 100000000.00, false);
+						CardStatus.ACTIVE, 10000L, 10000000000L, 10000000000L, false);
 				Card cardWithDefinedOwner_blocked = new Card("3010570969331598", Instant.now().plus(Duration.ofDays(1825)),
-						CardStatus.BLOCKED, 100.00, 100000000.00, 100000000.00, false);
+						CardStatus.BLOCKED, 10000L, 10000000000L, 10000000000L, false);
 				Card cardWithDefinedOwner2 = new Card("7278005134684082", Instant.now().plus(Duration.ofDays(1825)),
-						CardStatus.ACTIVE, 125251.53, 75000.00, 100000.00, false);
+						CardStatus.ACTIVE, 12525153L, 7500000L, 10000000L, false);
 
 				Card cardWithoutOwner = new Card("4333780415293668", Instant.now().plus(Duration.ofDays(1825)),
-						CardStatus.ACTIVE, 12350.94, 100000000.00, 100000000.00, false);
+						CardStatus.ACTIVE, 1235094L, 10000000000L, 10000000000L, false);
 
-				cardRepository.save(cardWithDefinedOwner1_1);
-				cardRepository.save(cardWithDefinedOwner1_2);
-				cardRepository.save(cardWithDefinedOwner_blocked);
-				cardRepository.save(cardWithDefinedOwner2);
-				cardRepository.save(cardWithoutOwner);
+				cardRepository.saveAll(Arrays.asList(cardWithDefinedOwner1_1, cardWithDefinedOwner1_2,
+						cardWithDefinedOwner_blocked, cardWithDefinedOwner2, cardWithoutOwner));
 
 				User definedUser1 = new User("Solomatin", "Oleg", "Andreevich", "o.solomatin@test.com",
 						passwordEncoder.encode("password"), true, true, true, true, Arrays.asList(Authorities.USER));
@@ -120,9 +115,7 @@ public class DataLoader {
 				definedUser1.addCard(cardWithDefinedOwner_blocked);
 				definedUser2.addCard(cardWithDefinedOwner2);
 
-				userRepository.save(definedUser1);
-				userRepository.save(definedUser2);
-				userRepository.save(admin);
+				userRepository.saveAll(Arrays.asList(definedUser1, definedUser2, admin));
 
 			}
 		};
@@ -0,0 +1,19 @@
+package com.dmcustoms.app.data.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchTransferDTO {
+
+	@NotEmpty(message = "Transfers are required")
+	@Size(max = 1000, message = "Must contain at most 1000 transfers")
+	private final List<@Valid TransferDTO> transfers;
+
+}
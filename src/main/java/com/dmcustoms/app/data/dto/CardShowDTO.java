@@ -2,8 +2,13 @@ package com.dmcustoms.app.data.dto;
 
 import java.time.Instant;
 
+import com.dmcustoms.app.data.serializers.MoneySerializer;
 import com.dmcustoms.app.data.types.CardStatus;
 
-public record CardShowDTO(String cardNumber, Instant expiredAt, CardStatus status, Double balance,
-		Double limitPerDay, Double LimitPerMonth, String ownerEmail) {
+import tools.jackson.databind.annotation.JsonSerialize;
+
+public record CardShowDTO(String cardNumber, Instant expiredAt, CardStatus status,
+		@JsonSerialize(using = MoneySerializer.class) long balance,
+		@JsonSerialize(using = MoneySerializer.class) long limitPerDay,
+		@JsonSerialize(using = MoneySerializer.class) long LimitPerMonth, String ownerEmail) {
 }
@@ -2,11 +2,16 @@ package com.dmcustoms.app.data.dto;
 
 import org.hibernate.validator.constraints.CreditCardNumber;
 
+import com.dmcustoms.app.data.serializers.MoneyDeserializer;
+import com.dmcustoms.app.data.serializers.MoneySerializer;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
 
 @Data
 @AllArgsConstructor
@@ -18,10 +23,14 @@ public class SetLimitsDTO {
 
 	@NotNull(message = "Limit per day is required")
 	@PositiveOrZero(message = "Must be most or equals zero")
-	private final Double limitPerDay;
+	@JsonDeserialize(using = MoneyDeserializer.class)
+	@JsonSerialize(using = MoneySerializer.class)
+	private final Long limitPerDay;
 
 	@NotNull(message = "Limit per month is required")
 	@PositiveOrZero(message = "Must be most or equals zero")
-	private final Double limitPerMonth; 
+	@JsonDeserialize(using = MoneyDeserializer.class)
+	@JsonSerialize(using = MoneySerializer.class)
+	private final Long limitPerMonth; 
 	
 }
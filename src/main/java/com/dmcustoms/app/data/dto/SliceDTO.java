@@ -0,0 +1,6 @@
+package com.dmcustoms.app.data.dto;
+
+import java.util.List;
+
+public record SliceDTO<T>(List<T> content, String next) {
+}
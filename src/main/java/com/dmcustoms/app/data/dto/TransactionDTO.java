@@ -2,8 +2,11 @@ package com.dmcustoms.app.data.dto;
 
 import java.time.Instant;
 
+import com.dmcustoms.app.data.serializers.MoneySerializer;
 import com.dmcustoms.app.data.types.TransactionType;
 
+import tools.jackson.databind.annotation.JsonSerialize;
+
 public record TransactionDTO(String cardSourceNumber, String cardRecipientNumber, TransactionType type, Instant date,
-		Double value) {
+		@JsonSerialize(using = MoneySerializer.class) long value) {
 }
@@ -2,11 +2,16 @@ package com.dmcustoms.app.data.dto;
 
 import org.hibernate.validator.constraints.CreditCardNumber;
 
+import com.dmcustoms.app.data.serializers.MoneyDeserializer;
+import com.dmcustoms.app.data.serializers.MoneySerializer;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
 
 @Data
 @AllArgsConstructor
@@ -22,6 +27,8 @@ public class TransferDTO {
 	
 	@NotNull(message = "Value is required")
 	@PositiveOrZero(message = "Must be most or equals zero")
-	private final Double value;
+	@JsonDeserialize(using = MoneyDeserializer.class)
+	@JsonSerialize(using = MoneySerializer.class)
+	private final Long value;
 
 }
@@ -0,0 +1,4 @@
+package com.dmcustoms.app.data.dto;
+
+public record TransferResultDTO(Integer index, Integer status, String error) {
+}
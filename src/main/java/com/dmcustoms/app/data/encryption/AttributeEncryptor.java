@@ -1,5 +1,6 @@
 package com.dmcustoms.app.data.encryption;
 
+import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 
 import javax.crypto.Cipher;
@@ -7,6 +8,7 @@ import javax.crypto.spec.SecretKeySpec;
 
 import org.springframework.beans.factory.annotation.Value;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import lombok.extern.slf4j.Slf4j;
@@ -15,19 +17,29 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AttributeEncryptor implements AttributeConverter<String, byte[]>{
 
-private final SecretKeySpec key;
-	
-	public AttributeEncryptor(@Value("${aes.encryption.secret}") String secret) {
-		key = new SecretKeySpec(secret.getBytes(), "AES");
+	private static final String TRANSFORMATION = "AES/ECB/PKCS5Padding";
+
+	private final ThreadLocal<Cipher> encryptors;
+
+	private final ThreadLocal<Cipher> decryptors;
+
+	private final DecryptionCache decryptionCache;
+
+	public AttributeEncryptor(@Value("${aes.encryption.secret}") String secret,
+			@Value("${aes.decryption-cache.enabled:false}") boolean cacheEnabled,
+			@Value("${aes.decryption-cache.size:10000}") int cacheSize, MeterRegistry meterRegistry) {
+		SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "AES");
+		this.encryptors = ThreadLocal.withInitial(() -> createCipher(Cipher.ENCRYPT_MODE, key));
+		this.decryptors = ThreadLocal.withInitial(() -> createCipher(Cipher.DECRYPT_MODE, key));
+		this.decryptionCache = cacheEnabled ? new DecryptionCache(cacheSize, meterRegistry) : null;
 	}
-	
+
 	@Override
 	public byte[] convertToDatabaseColumn(String attribute) {
+		if (attribute == null)
+			return null;
 		try {
-			Cipher encryptor = Cipher.getInstance("AES");
-			encryptor.init(Cipher.ENCRYPT_MODE, key);
-			byte[] bytes = encryptor.doFinal(attribute.getBytes());
-			return bytes;
+			return this.encryptors.get().doFinal(attribute.getBytes(StandardCharsets.UTF_8));
 		} catch (GeneralSecurityException e) {
 			log.error(e.getMessage());
 			return new byte[0];
@@ -36,19 +48,32 @@ private final SecretKeySpec key;
 
 	@Override
 	public String convertToEntityAttribute(byte[] dbData) {
+		if (dbData == null)
+			return null;
+		if (this.decryptionCache != null) {
+			String cached = this.decryptionCache.get(dbData);
+			if (cached != null)
+				return cached;
+		}
 		try {
-			Cipher decryptor = Cipher.getInstance("AES");
-			decryptor.init(Cipher.DECRYPT_MODE, key);
-			byte[] bytes = decryptor.doFinal(dbData);
-			String result = "";
-			for (byte symbol : bytes) {
-				result += (char) symbol;
-			}
-			return result;
+			String decrypted = new String(this.decryptors.get().doFinal(dbData), StandardCharsets.UTF_8);
+			if (this.decryptionCache != null)
+				this.decryptionCache.put(dbData, decrypted);
+			return decrypted;
 		} catch (GeneralSecurityException e) {
 			log.error(e.getMessage());
 			return "";
 		}
 	}
 
+	private static Cipher createCipher(int mode, SecretKeySpec key) {
+		try {
+			Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+			cipher.init(mode, key);
+			return cipher;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
 }
@@ -0,0 +1,38 @@
+package com.dmcustoms.app.data.encryption;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.function.Function;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BlindIndex implements Function<String, byte[]> {
+
+	private static final String ALGORITHM = "HmacSHA256";
+
+	private final ThreadLocal<Mac> macs;
+
+	public BlindIndex(@Value("${hmac.blind-index-secret}") String secret) {
+		SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+		this.macs = ThreadLocal.withInitial(() -> {
+			try {
+				Mac mac = Mac.getInstance(ALGORITHM);
+				mac.init(key);
+				return mac;
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	@Override
+	public byte[] apply(String value) {
+		return this.macs.get().doFinal(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.dmcustoms.app.data.encryption;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dmcustoms.app.data.entities.Card;
+import com.dmcustoms.app.data.repositories.CardRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class CardNumberHashBackfill {
+
+	private final CardRepository cardRepository;
+
+	private final BlindIndex blindIndex;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final int chunkSize;
+
+	public CardNumberHashBackfill(CardRepository cardRepository, BlindIndex blindIndex,
+			PlatformTransactionManager transactionManager,
+			@Value("${hmac.blind-index-backfill-chunk-size:1000}") int chunkSize) {
+		this.cardRepository = cardRepository;
+		this.blindIndex = blindIndex;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.chunkSize = chunkSize;
+	}
+
+	@Scheduled(initialDelay = 0, fixedDelayString = "${hmac.blind-index-backfill-interval:PT10M}")
+	public void backfill() {
+		int total = 0;
+		long lastId = 0;
+		List<Long> ids;
+		do {
+			ids = this.cardRepository.findCardIdsWithoutHashAfter(lastId, PageRequest.of(0, this.chunkSize));
+			if (ids.isEmpty())
+				break;
+			try {
+				total += hash(ids);
+			} catch (RuntimeException e) {
+				log.warn("Could not backfill card number hashes for cards {} to {}, retrying one by one: {}",
+						ids.getFirst(), ids.getLast(), e.getMessage());
+				for (Long id : ids) {
+					try {
+						total += hash(List.of(id));
+					} catch (RuntimeException cardException) {
+						log.error("Could not backfill card number hash for card {}: {}", id,
+								cardException.getMessage());
+					}
+				}
+			}
+			lastId = ids.getLast();
+		} while (ids.size() == this.chunkSize);
+		if (total > 0)
+			log.info("Backfilled card number hashes for {} cards", total);
+	}
+
+	private int hash(List<Long> ids) {
+		return this.transactionTemplate.execute(status -> {
+			int hashed = 0;
+			for (Card card : this.cardRepository.lockCardsWithoutHash(ids)) {
+				if (card.getCardNumber().isEmpty()) {
+					log.error("Card {} has an undecryptable card number and is left without a hash", card.getId());
+					continue;
+				}
+				card.setCardNumberHash(this.blindIndex.apply(card.getCardNumber()));
+				hashed++;
+			}
+			return hashed;
+		});
+	}
+
+}
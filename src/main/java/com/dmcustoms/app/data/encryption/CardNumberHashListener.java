@@ -0,0 +1,18 @@
+package com.dmcustoms.app.data.encryption;
+
+import com.dmcustoms.app.data.entities.Card;
+
+import jakarta.persistence.PrePersist;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class CardNumberHashListener {
+
+	private final BlindIndex blindIndex;
+
+	@PrePersist
+	public void setCardNumberHash(Card card) {
+		card.setCardNumberHash(this.blindIndex.apply(card.getCardNumber()));
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.dmcustoms.app.data.encryption;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class DecryptionCache {
+
+	private final Map<ByteBuffer, char[]> entries;
+
+	private final Counter hits;
+
+	private final Counter misses;
+
+	public DecryptionCache(int maxSize, MeterRegistry meterRegistry) {
+		this.entries = new LinkedHashMap<ByteBuffer, char[]>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ByteBuffer, char[]> eldest) {
+				if (size() > maxSize) {
+					Arrays.fill(eldest.getValue(), '\0');
+					return true;
+				}
+				return false;
+			}
+
+		};
+		this.hits = meterRegistry.counter("cards.decryption.cache.requests", "result", "hit");
+		this.misses = meterRegistry.counter("cards.decryption.cache.requests", "result", "miss");
+		Gauge.builder("cards.decryption.cache.size", this, DecryptionCache::size).register(meterRegistry);
+	}
+
+	public String get(byte[] encrypted) {
+		synchronized (this.entries) {
+			char[] decrypted = this.entries.get(ByteBuffer.wrap(encrypted));
+			if (decrypted == null) {
+				this.misses.increment();
+				return null;
+			}
+			this.hits.increment();
+			return new String(decrypted);
+		}
+	}
+
+	public void put(byte[] encrypted, String decrypted) {
+		synchronized (this.entries) {
+			char[] previous = this.entries.put(ByteBuffer.wrap(encrypted.clone()), decrypted.toCharArray());
+			if (previous != null)
+				Arrays.fill(previous, '\0');
+		}
+	}
+
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+
+}
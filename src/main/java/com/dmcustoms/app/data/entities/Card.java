@@ -3,39 +3,45 @@ package com.dmcustoms.app.data.entities;
 import java.time.Instant;
 
 import com.dmcustoms.app.data.encryption.AttributeEncryptor;
+import com.dmcustoms.app.data.encryption.CardNumberHashListener;
 import com.dmcustoms.app.data.types.CardStatus;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 
 @Data
 @Entity(name = "cards")
+@EntityListeners(CardNumberHashListener.class)
 @AllArgsConstructor
-@RequiredArgsConstructor
 @NoArgsConstructor(access = AccessLevel.PACKAGE, force = true)
 public class Card {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cards_seq")
+	@SequenceGenerator(name = "cards_seq", sequenceName = "cards_seq", allocationSize = 50)
 	private Long id;
 	
 	@Column(name = "card_number", nullable = false, length = 128)
 	@Convert(converter = AttributeEncryptor.class)
 	private final String cardNumber;
 	
+	@Column(name = "card_number_hash", length = 32)
+	private byte[] cardNumberHash;
+	
 	@Column(name = "expired_at", nullable = false)
 	private final Instant expiredAt;
 	
@@ -48,19 +54,27 @@ public class Card {
 	private CardStatus status;
 	
 	@Column(name = "card_balance", nullable = false)
-	@NonNull
-	private Double balance;
+	private long balance;
 	
-	@Column(name = "limit_per_day")
-	@NonNull
-	private Double limitPerDay;
+	@Column(name = "limit_per_day", nullable = false)
+	private long limitPerDay;
 	
-	@Column(name = "limit_per_month")
-	@NonNull
-	private Double LimitPerMonth;
+	@Column(name = "limit_per_month", nullable = false)
+	private long LimitPerMonth;
 	
 	@Column(name = "is_block_request")
 	@NonNull
 	private Boolean isBlockRequest;
 	
+	public Card(String cardNumber, Instant expiredAt, @NonNull CardStatus status, long balance, long limitPerDay,
+			long limitPerMonth, @NonNull Boolean isBlockRequest) {
+		this.cardNumber = cardNumber;
+		this.expiredAt = expiredAt;
+		this.status = status;
+		this.balance = balance;
+		this.limitPerDay = limitPerDay;
+		this.LimitPerMonth = limitPerMonth;
+		this.isBlockRequest = isBlockRequest;
+	}
+	
 }
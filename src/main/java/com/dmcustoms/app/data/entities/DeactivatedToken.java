@@ -20,7 +20,7 @@ public class DeactivatedToken {
 	@Id
 	private final UUID id;
 	
-	@Column(name = "keep_until")
+	@Column(name = "keep_until", nullable = false)
 	private final Date keepUntil;
 	
 }
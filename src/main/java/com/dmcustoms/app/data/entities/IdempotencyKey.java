@@ -0,0 +1,34 @@
+package com.dmcustoms.app.data.entities;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity(name = "idempotency_keys")
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PACKAGE, force = true)
+public class IdempotencyKey {
+
+	@Id
+	private final String id;
+
+	@Column(name = "request_hash", length = 64)
+	private final String requestHash;
+
+	@Column(name = "response_status")
+	private final Integer responseStatus;
+
+	@Column(name = "response_body")
+	private final String responseBody;
+
+	@Column(name = "keep_until", nullable = false)
+	private final Instant keepUntil;
+
+}
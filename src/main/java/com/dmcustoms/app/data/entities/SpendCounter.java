@@ -0,0 +1,23 @@
+package com.dmcustoms.app.data.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity(name = "card_spend_counters")
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PACKAGE, force = true)
+public class SpendCounter {
+
+	@EmbeddedId
+	private final SpendCounterId id;
+
+	@Column(name = "spent", nullable = false)
+	private final long spent;
+
+}
@@ -0,0 +1,32 @@
+package com.dmcustoms.app.data.entities;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import com.dmcustoms.app.data.types.SpendPeriod;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Embeddable
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PACKAGE, force = true)
+public class SpendCounterId implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Column(name = "card_id", nullable = false)
+	private final Long cardId;
+
+	@Column(name = "period_type", nullable = false)
+	private final SpendPeriod period;
+
+	@Column(name = "period_start", nullable = false)
+	private final LocalDate periodStart;
+
+}
@@ -0,0 +1,24 @@
+package com.dmcustoms.app.data.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity(name = "token_epoch")
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PACKAGE, force = true)
+public class TokenEpoch {
+
+	@Id
+	@Column(name = "user_email")
+	private final String email;
+
+	@Column(name = "token_epoch", nullable = false)
+	private final Integer tokenEpoch;
+
+}
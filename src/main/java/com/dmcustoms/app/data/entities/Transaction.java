@@ -11,6 +11,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -25,7 +26,8 @@ import lombok.RequiredArgsConstructor;
 public class Transaction {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+	@SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
 	private Long id;
 
 	@ManyToOne
@@ -43,6 +45,6 @@ public class Transaction {
 	private final Instant date;
 	
 	@Column(name = "transaction_value", nullable = false)
-	private final Double value;
+	private final long value;
 	
 }
@@ -8,7 +8,6 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.dmcustoms.app.data.types.Authorities;
-import com.dmcustoms.app.jwt.core.Token;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -18,7 +17,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
-import jakarta.persistence.Transient;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -36,7 +35,8 @@ public class User implements UserDetails {
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+	@SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
 	private Long id;
 	
 	@Column(name = "user_surname", nullable = false, length = 32)
@@ -83,9 +83,6 @@ public class User implements UserDetails {
 	@JoinColumn(name = "card_owner")
 	private List<Card> cards = new ArrayList<Card>();
 	
-	@Transient
-	private Token token;
-	
 	public void addCard(Card card) {
 		this.cards.add(card);
 	}
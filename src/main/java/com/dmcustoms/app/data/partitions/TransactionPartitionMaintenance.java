@@ -0,0 +1,149 @@
+package com.dmcustoms.app.data.partitions;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class TransactionPartitionMaintenance {
+
+	private static final String PARTITION_PREFIX = "transactions_p";
+
+	private static final String DEFAULT_PARTITION = "transactions_default";
+
+	private static final String ARCHIVE_SCHEMA = "transactions_archive";
+
+	private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+	private static final String PARTITIONS_QUERY = "SELECT c.relname, "
+			+ "(regexp_match(pg_get_expr(c.relpartbound, c.oid), 'FROM \\(''([^'']+)''\\)'))[1]::timestamptz, "
+			+ "(regexp_match(pg_get_expr(c.relpartbound, c.oid), 'TO \\(''([^'']+)''\\)'))[1]::timestamptz "
+			+ "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent "
+			+ "WHERE p.relname = 'transactions' AND pg_get_expr(c.relpartbound, c.oid) <> 'DEFAULT'";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final int monthsAhead;
+
+	private final int retentionMonths;
+
+	private final Counter archivedPartitions;
+
+	private final Counter failedPartitions;
+
+	private final Timer duration;
+
+	public TransactionPartitionMaintenance(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+			MeterRegistry meterRegistry, @Value("${transactions.partitions.months-ahead:3}") int monthsAhead,
+			@Value("${transactions.partitions.retention-months:24}") int retentionMonths) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.monthsAhead = monthsAhead;
+		this.retentionMonths = retentionMonths;
+		this.archivedPartitions = meterRegistry.counter("cards.transactions.partitions.archived");
+		this.failedPartitions = meterRegistry.counter("cards.transactions.partitions.failed");
+		this.duration = meterRegistry.timer("cards.transactions.partitions.maintenance.duration");
+	}
+
+	@Scheduled(initialDelay = 0, fixedDelayString = "${transactions.partitions.maintenance-interval:PT6H}")
+	public void maintain() {
+		this.duration.record(() -> {
+			YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+			createPartitions(currentMonth);
+			archiveExpiredPartitions(startOf(currentMonth.minusMonths(this.retentionMonths)));
+		});
+	}
+
+	private void createPartitions(YearMonth currentMonth) {
+		List<Partition> partitions = findPartitions();
+		for (int i = 0; i <= this.monthsAhead; i++) {
+			YearMonth month = currentMonth.plusMonths(i);
+			Instant from = startOf(month);
+			Instant to = startOf(month.plusMonths(1));
+			if (partitions.stream().anyMatch(partition -> partition.overlaps(from, to)))
+				continue;
+			try {
+				this.transactionTemplate.executeWithoutResult(status -> createPartition(month, from, to));
+			} catch (DataAccessException e) {
+				this.failedPartitions.increment();
+				log.error("Could not create transactions partition for {}, new rows of that month go to {}: {}",
+						month, DEFAULT_PARTITION, e.getMessage());
+			}
+		}
+	}
+
+	private void createPartition(YearMonth month, Instant from, Instant to) {
+		String partition = PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+		String create = "CREATE TABLE " + partition + " PARTITION OF transactions FOR VALUES FROM ('" + from
+				+ "') TO ('" + to + "')";
+		boolean conflicting = this.jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION
+				+ " WHERE transaction_date >= ? AND transaction_date < ?)", Boolean.class, Timestamp.from(from),
+				Timestamp.from(to));
+		if (!conflicting) {
+			this.jdbcTemplate.execute(create);
+			return;
+		}
+		this.jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + DEFAULT_PARTITION);
+		this.jdbcTemplate.execute(create);
+		int moved = this.jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+				+ " WHERE transaction_date >= ? AND transaction_date < ? RETURNING *) "
+				+ "INSERT INTO transactions SELECT * FROM moved", Timestamp.from(from), Timestamp.from(to));
+		this.jdbcTemplate.execute("ALTER TABLE transactions ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+		log.warn("Moved {} rows from {} into new transactions partition {}", moved, DEFAULT_PARTITION, partition);
+	}
+
+	private void archiveExpiredPartitions(Instant oldestHotMonthStart) {
+		for (Partition partition : findPartitions()) {
+			if (partition.to() == null || partition.to().isAfter(oldestHotMonthStart))
+				continue;
+			try {
+				this.jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + partition.name()
+						+ "; ALTER TABLE " + partition.name() + " SET SCHEMA " + ARCHIVE_SCHEMA);
+				this.archivedPartitions.increment();
+				log.info("Archived transactions partition {} to schema {}", partition.name(), ARCHIVE_SCHEMA);
+			} catch (DataAccessException e) {
+				log.warn("Could not archive transactions partition {}: {}", partition.name(), e.getMessage());
+			}
+		}
+	}
+
+	private List<Partition> findPartitions() {
+		return this.jdbcTemplate.query(PARTITIONS_QUERY, (rs, rowNum) -> new Partition(rs.getString(1),
+				toInstant(rs.getTimestamp(2)), toInstant(rs.getTimestamp(3))));
+	}
+
+	private static Instant toInstant(Timestamp timestamp) {
+		return timestamp == null ? null : timestamp.toInstant();
+	}
+
+	private static Instant startOf(YearMonth month) {
+		return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+	}
+
+	private record Partition(String name, Instant from, Instant to) {
+
+		private boolean overlaps(Instant start, Instant end) {
+			return (this.from == null || this.from.isBefore(end)) && (this.to == null || this.to.isAfter(start));
+		}
+
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.dmcustoms.app.data.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.dmcustoms.app.data.entities.Card;
+
+public interface CardNumberLookup {
+
+	public Optional<Card> findCardByCardNumber(String cardNumber);
+
+	public List<Card> findCardsByCardNumbers(Collection<String> cardNumbers);
+
+	public List<Card> lockCardsByCardNumbers(Long ownerId, Collection<String> cardNumbers);
+
+}
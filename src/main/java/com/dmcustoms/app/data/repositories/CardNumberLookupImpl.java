@@ -0,0 +1,68 @@
+package com.dmcustoms.app.data.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import com.dmcustoms.app.data.encryption.BlindIndex;
+import com.dmcustoms.app.data.entities.Card;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.TypedQuery;
+
+public class CardNumberLookupImpl implements CardNumberLookup {
+
+	private final EntityManager entityManager;
+
+	private final BlindIndex blindIndex;
+
+	private final boolean fallbackEnabled;
+
+	public CardNumberLookupImpl(EntityManager entityManager, BlindIndex blindIndex,
+			@Value("${hmac.blind-index-fallback-enabled:true}") boolean fallbackEnabled) {
+		this.entityManager = entityManager;
+		this.blindIndex = blindIndex;
+		this.fallbackEnabled = fallbackEnabled;
+	}
+
+	@Override
+	public Optional<Card> findCardByCardNumber(String cardNumber) {
+		Optional<Card> card = this.entityManager
+				.createQuery("SELECT c FROM cards c WHERE c.cardNumberHash = :cardNumberHash", Card.class)
+				.setParameter("cardNumberHash", this.blindIndex.apply(cardNumber)).getResultStream().findFirst();
+		if (card.isPresent() || !this.fallbackEnabled)
+			return card;
+		return this.entityManager
+				.createQuery("SELECT c FROM cards c WHERE c.cardNumberHash IS NULL AND c.cardNumber = :cardNumber",
+						Card.class)
+				.setParameter("cardNumber", cardNumber).getResultStream().findFirst();
+	}
+
+	@Override
+	public List<Card> findCardsByCardNumbers(Collection<String> cardNumbers) {
+		return queryCardsByCardNumbers("", cardNumbers).getResultList();
+	}
+
+	@Override
+	public List<Card> lockCardsByCardNumbers(Long ownerId, Collection<String> cardNumbers) {
+		return queryCardsByCardNumbers("c.owner.id = :ownerId AND ", cardNumbers).setParameter("ownerId", ownerId)
+				.setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList();
+	}
+
+	private TypedQuery<Card> queryCardsByCardNumbers(String condition, Collection<String> cardNumbers) {
+		List<byte[]> cardNumberHashes = cardNumbers.stream().map(this.blindIndex).toList();
+		if (!this.fallbackEnabled)
+			return this.entityManager
+					.createQuery("SELECT c FROM cards c WHERE " + condition
+							+ "c.cardNumberHash IN :cardNumberHashes ORDER BY c.id", Card.class)
+					.setParameter("cardNumberHashes", cardNumberHashes);
+		return this.entityManager
+				.createQuery("SELECT c FROM cards c WHERE " + condition + "(c.cardNumberHash IN :cardNumberHashes "
+						+ "OR (c.cardNumberHash IS NULL AND c.cardNumber IN :cardNumbers)) ORDER BY c.id", Card.class)
+				.setParameter("cardNumberHashes", cardNumberHashes).setParameter("cardNumbers", cardNumbers);
+	}
+
+}
@@ -1,19 +1,71 @@
 package com.dmcustoms.app.data.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.dmcustoms.app.data.entities.Card;
 import com.dmcustoms.app.data.entities.User;
 
-public interface CardRepository extends JpaRepository<Card, Long> {
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface CardRepository extends JpaRepository<Card, Long>, CardNumberLookup {
+
+	public static final String CARD_VIEW = "SELECT new com.dmcustoms.app.data.repositories.CardView(c.id, "
+			+ "c.cardNumber, c.expiredAt, c.status, c.balance, c.limitPerDay, c.LimitPerMonth, o.email) "
+			+ "FROM cards c LEFT JOIN c.owner o ";
 	
 	public List<Card> findCardsByOwner(User owner);
 	
-	public Optional<Card> findCardByCardNumber(String cardNumber);
-	
 	public List<Card> findCardsByIsBlockRequest(Boolean isBlockRequest);
 	
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT c FROM cards c WHERE c.id = :id")
+	public Optional<Card> lockCardById(Long id);
+
+	@Query("SELECT c.id FROM cards c WHERE c.cardNumberHash IS NULL AND c.id > :id ORDER BY c.id")
+	public List<Long> findCardIdsWithoutHashAfter(Long id, Pageable pageable);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("SELECT c FROM cards c WHERE c.id IN :ids AND c.cardNumberHash IS NULL ORDER BY c.id")
+	public List<Card> lockCardsWithoutHash(Collection<Long> ids);
+
+	@Query(CARD_VIEW)
+	public Slice<CardView> findCardViews(Pageable pageable);
+
+	@Query(CARD_VIEW + "WHERE c.id > :id ORDER BY c.id")
+	public Slice<CardView> findCardViewsAfter(Long id, Pageable pageable);
+
+	@Query(CARD_VIEW + "WHERE o.id = :ownerId")
+	public List<CardView> findCardViewsByOwnerId(Long ownerId);
+
+	@Query(CARD_VIEW + "WHERE c.isBlockRequest = true")
+	public List<CardView> findBlockRequestedCardViews();
+	
+	@Modifying
+	@Query("UPDATE cards c SET c.balance = c.balance - :value WHERE c.id = :id AND c.balance >= :value "
+			+ "AND c.status = com.dmcustoms.app.data.types.CardStatus.ACTIVE")
+	public int withdraw(Long id, long value);
+	
+	@Modifying
+	@Query("UPDATE cards c SET c.balance = c.balance + :value WHERE c.id = :id "
+			+ "AND c.status = com.dmcustoms.app.data.types.CardStatus.ACTIVE")
+	public int deposit(Long id, long value);
+	
+	public default boolean transfer(Card source, Card recipient, long value) {
+		if (source.getId() < recipient.getId())
+			return withdraw(source.getId(), value) == 1 && deposit(recipient.getId(), value) == 1;
+		return deposit(recipient.getId(), value) == 1 && withdraw(source.getId(), value) == 1;
+	}
+	
 }
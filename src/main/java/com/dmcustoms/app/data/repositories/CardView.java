@@ -0,0 +1,16 @@
+package com.dmcustoms.app.data.repositories;
+
+import java.time.Instant;
+
+import com.dmcustoms.app.data.dto.CardShowDTO;
+import com.dmcustoms.app.data.types.CardStatus;
+
+public record CardView(Long id, String cardNumber, Instant expiredAt, CardStatus status, long balance,
+		long limitPerDay, long limitPerMonth, String ownerEmail) {
+
+	public CardShowDTO toCardShowDTO() {
+		return new CardShowDTO(this.cardNumber, this.expiredAt, this.status, this.balance, this.limitPerDay,
+				this.limitPerMonth, this.ownerEmail);
+	}
+
+}
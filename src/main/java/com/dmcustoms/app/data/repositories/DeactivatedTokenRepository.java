@@ -1,10 +1,24 @@
 package com.dmcustoms.app.data.repositories;
 
+import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.dmcustoms.app.data.entities.DeactivatedToken;
 
 public interface DeactivatedTokenRepository extends JpaRepository<DeactivatedToken, UUID> {
+
+	public List<DeactivatedToken> findDeactivatedTokensByKeepUntilAfter(Date date);
+
+	@Modifying
+	@Transactional
+	@Query(value = "DELETE FROM deactivated_token WHERE id IN "
+			+ "(SELECT id FROM deactivated_token WHERE keep_until < :now LIMIT :limit)", nativeQuery = true)
+	public int deleteExpired(Date now, int limit);
+
 }
@@ -0,0 +1,39 @@
+package com.dmcustoms.app.data.repositories;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dmcustoms.app.data.entities.IdempotencyKey;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+	@Modifying
+	@Transactional
+	@Query(value = "INSERT INTO idempotency_keys (id, request_hash, keep_until) VALUES (:id, :requestHash, :leaseUntil) "
+			+ "ON CONFLICT (id) DO UPDATE SET request_hash = EXCLUDED.request_hash, keep_until = EXCLUDED.keep_until, "
+			+ "response_status = NULL, response_body = NULL WHERE idempotency_keys.keep_until < now()",
+			nativeQuery = true)
+	public int reserve(String id, String requestHash, Instant leaseUntil);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE idempotency_keys k SET k.responseStatus = :responseStatus, k.responseBody = :responseBody, "
+			+ "k.keepUntil = :keepUntil WHERE k.id = :id AND k.keepUntil = :leaseUntil AND k.responseStatus IS NULL")
+	public int complete(String id, Instant leaseUntil, Integer responseStatus, String responseBody,
+			Instant keepUntil);
+
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM idempotency_keys k WHERE k.id = :id AND k.keepUntil = :leaseUntil AND k.responseStatus IS NULL")
+	public int release(String id, Instant leaseUntil);
+
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM idempotency_keys k WHERE k.keepUntil < :now")
+	public int deleteExpired(Instant now);
+
+}
@@ -0,0 +1,15 @@
+package com.dmcustoms.app.data.repositories;
+
+public interface PrincipalProjection {
+
+	public Long getId();
+
+	public String getEmail();
+
+	public String getPassword();
+
+	public Integer getAuthorities();
+
+	public Boolean getLocked();
+
+}
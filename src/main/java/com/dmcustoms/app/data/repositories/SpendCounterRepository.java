@@ -0,0 +1,46 @@
+package com.dmcustoms.app.data.repositories;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.dmcustoms.app.data.entities.Card;
+import com.dmcustoms.app.data.entities.SpendCounter;
+import com.dmcustoms.app.data.entities.SpendCounterId;
+import com.dmcustoms.app.data.types.SpendPeriod;
+
+public interface SpendCounterRepository extends JpaRepository<SpendCounter, SpendCounterId> {
+
+	public static final ZoneId ZONE = ZoneOffset.UTC;
+
+	@Modifying
+	@Query(value = "INSERT INTO card_spend_counters (card_id, period_type, period_start, spent) "
+			+ "VALUES (:cardId, :period, :periodStart, :value) "
+			+ "ON CONFLICT (card_id, period_type, period_start) "
+			+ "DO UPDATE SET spent = card_spend_counters.spent + EXCLUDED.spent", nativeQuery = true)
+	public int addSpent(Long cardId, int period, LocalDate periodStart, long value);
+
+	@Query("SELECT COALESCE(SUM(c.spent), 0) FROM card_spend_counters c WHERE c.id.cardId = :cardId AND c.id.period = :period "
+			+ "AND c.id.periodStart = :periodStart")
+	public long findSpent(Long cardId, SpendPeriod period, LocalDate periodStart);
+
+	public default void registerSpending(Card card, Instant date, long value) {
+		LocalDate day = LocalDate.ofInstant(date, ZONE);
+		addSpent(card.getId(), SpendPeriod.DAY.ordinal(), day, value);
+		addSpent(card.getId(), SpendPeriod.MONTH.ordinal(), day.withDayOfMonth(1), value);
+	}
+
+	public default long getSpentOnDay(Card card, LocalDate day) {
+		return findSpent(card.getId(), SpendPeriod.DAY, day);
+	}
+
+	public default long getSpentOnMonth(Card card, LocalDate day) {
+		return findSpent(card.getId(), SpendPeriod.MONTH, day.withDayOfMonth(1));
+	}
+
+}
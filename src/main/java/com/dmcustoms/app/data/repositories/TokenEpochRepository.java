@@ -0,0 +1,16 @@
+package com.dmcustoms.app.data.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dmcustoms.app.data.entities.TokenEpoch;
+
+public interface TokenEpochRepository extends JpaRepository<TokenEpoch, String> {
+
+	@Transactional
+	@Query(value = "INSERT INTO token_epoch (user_email, token_epoch) VALUES (:email, 1) ON CONFLICT (user_email) "
+			+ "DO UPDATE SET token_epoch = token_epoch.token_epoch + 1 RETURNING token_epoch", nativeQuery = true)
+	public int incrementTokenEpoch(String email);
+
+}
@@ -1,18 +1,63 @@
 package com.dmcustoms.app.data.repositories;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Page;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.dmcustoms.app.data.entities.Card;
 import com.dmcustoms.app.data.entities.Transaction;
 
+import jakarta.persistence.QueryHint;
+
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+	public static final String TRANSACTION_VIEW = "SELECT new com.dmcustoms.app.data.repositories.TransactionView("
+			+ "t.id, s.cardNumber, r.cardNumber, t.type, t.date, t.value) "
+			+ "FROM transactions t JOIN t.source s LEFT JOIN t.recipient r ";
+
 	public List<Transaction> findTransactionsBySource(Card source);
 
-	public Page<Transaction> findTransactionsBySource(Card source, Pageable pageable);
+	@Query(TRANSACTION_VIEW)
+	public Slice<TransactionView> findTransactionViews(Pageable pageable);
+
+	@Query(TRANSACTION_VIEW + "WHERE t.source = :source")
+	public Slice<TransactionView> findTransactionViewsBySource(Card source, Pageable pageable);
+
+	@Query(TRANSACTION_VIEW + "ORDER BY t.date DESC, t.id DESC")
+	public Slice<TransactionView> findLatestTransactionViews(Pageable pageable);
+
+	@Query(TRANSACTION_VIEW + "WHERE t.source = :source ORDER BY t.date DESC, t.id DESC")
+	public Slice<TransactionView> findLatestTransactionViewsBySource(Card source, Pageable pageable);
+
+	@Query(TRANSACTION_VIEW + "WHERE t.date <= :date AND (t.date < :date OR t.id < :id) "
+			+ "ORDER BY t.date DESC, t.id DESC")
+	public Slice<TransactionView> findTransactionViewsBefore(Instant date, Long id, Pageable pageable);
+
+	@Query(TRANSACTION_VIEW + "WHERE t.source = :source AND t.date <= :date AND (t.date < :date OR t.id < :id) "
+			+ "ORDER BY t.date DESC, t.id DESC")
+	public Slice<TransactionView> findTransactionViewsBySourceBefore(Card source, Instant date, Long id,
+			Pageable pageable);
+
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query(TRANSACTION_VIEW + "WHERE t.source = :source ORDER BY t.date, t.id")
+	public Stream<TransactionView> streamTransactionViewsBySource(Card source);
+
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query(TRANSACTION_VIEW + "WHERE t.date >= :from AND t.date < :to ORDER BY t.date, t.id")
+	public Stream<TransactionView> streamTransactionViewsBetween(Instant from, Instant to);
+
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query(TRANSACTION_VIEW + "WHERE t.source = :source AND t.date >= :from AND t.date < :to ORDER BY t.date, t.id")
+	public Stream<TransactionView> streamTransactionViewsBySourceBetween(Card source, Instant from, Instant to);
 
 }
@@ -0,0 +1,15 @@
+package com.dmcustoms.app.data.repositories;
+
+import java.time.Instant;
+
+import com.dmcustoms.app.data.dto.TransactionDTO;
+import com.dmcustoms.app.data.types.TransactionType;
+
+public record TransactionView(Long id, String cardSourceNumber, String cardRecipientNumber, TransactionType type,
+		Instant date, long value) {
+
+	public TransactionDTO toTransactionDTO() {
+		return new TransactionDTO(this.cardSourceNumber, this.cardRecipientNumber, this.type, this.date, this.value);
+	}
+
+}
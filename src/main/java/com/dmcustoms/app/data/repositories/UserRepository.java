@@ -2,12 +2,32 @@ package com.dmcustoms.app.data.repositories;
 
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.dmcustoms.app.data.entities.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 	
 	public Optional<User> findUserByEmail(String email);
+
+	public Slice<User> findUsersBy(Pageable pageable);
+
+	public Slice<User> findUsersByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+	@Query(value = "SELECT u.id AS id, u.user_email AS email, u.user_password AS password, "
+			+ "(SELECT COALESCE(bit_or(1 << a), 0) FROM unnest(u.user_authorities) AS a) AS authorities, "
+			+ "NOT (u.acc_non_locked AND u.acc_enabled AND u.acc_non_expired AND u.creds_non_expired) AS locked "
+			+ "FROM users u WHERE u.user_email = :email", nativeQuery = true)
+	public Optional<PrincipalProjection> findPrincipalByEmail(String email);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE users u SET u.password = :password WHERE u.email = :email")
+	public int updatePassword(String email, String password);
 	
 }
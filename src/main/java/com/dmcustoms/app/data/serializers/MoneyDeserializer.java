@@ -0,0 +1,23 @@
+package com.dmcustoms.app.data.serializers;
+
+import java.math.BigDecimal;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+
+public class MoneyDeserializer extends ValueDeserializer<Long> {
+
+	@Override
+	public Long deserialize(JsonParser parser, DeserializationContext context) {
+		BigDecimal value = parser.getDecimalValue();
+		if (value.stripTrailingZeros().scale() > 2)
+			return context.reportInputMismatch(this, "Money value %s has more than two fraction digits", value);
+		try {
+			return value.movePointRight(2).longValueExact();
+		} catch (ArithmeticException e) {
+			return context.reportInputMismatch(this, "Money value %s is out of range", value);
+		}
+	}
+
+}
@@ -0,0 +1,16 @@
+package com.dmcustoms.app.data.serializers;
+
+import java.math.BigDecimal;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+public class MoneySerializer extends ValueSerializer<Long> {
+
+	@Override
+	public void serialize(Long value, JsonGenerator generator, SerializationContext context) {
+		generator.writeNumber(BigDecimal.valueOf(value, 2));
+	}
+
+}
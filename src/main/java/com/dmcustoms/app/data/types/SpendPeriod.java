@@ -0,0 +1,14 @@
+package com.dmcustoms.app.data.types;
+
+public enum SpendPeriod {
+
+	DAY("Day"),
+	MONTH("Month");
+	
+	public String period;
+	
+	private SpendPeriod(String period) {
+		this.period = period;
+	}
+	
+}
@@ -15,7 +15,7 @@ public class AccessTokenFactory implements Function<Token, Token> {
 	public Token apply(Token token) {
 		Instant now = Instant.now();
 		return new Token(token.getId(), token.getSubject(), Arrays.asList(JwtAuthorities.JWT_ACCESS),
-				now, now.plus(this.ttl));
+				now, now.plus(this.ttl), token.getEpoch());
 	}
 
 }
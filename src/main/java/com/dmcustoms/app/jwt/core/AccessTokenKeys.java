@@ -0,0 +1,48 @@
+package com.dmcustoms.app.jwt.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.impl.ECDSA;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+
+import lombok.Getter;
+
+@Getter
+public class AccessTokenKeys {
+
+	private final String signingKeyId;
+
+	private final JWSAlgorithm jwsAlgorithm;
+
+	private final JWSSigner jwsSigner;
+
+	private final Map<String, JWSVerifier> jwsVerifiers;
+
+	private final String publicJwkSet;
+
+	public AccessTokenKeys(JWKSet jwkSet, String signingKeyId) throws JOSEException {
+		Map<String, JWSVerifier> jwsVerifiers = new HashMap<String, JWSVerifier>();
+		for (JWK jwk : jwkSet.getKeys()) {
+			if (!(jwk instanceof ECKey ecKey) || jwk.getKeyID() == null)
+				throw new IllegalArgumentException("Access token keys must be EC keys with a key ID");
+			jwsVerifiers.put(ecKey.getKeyID(), new ECDSAVerifier(ecKey.toPublicJWK()));
+		}
+		if (!(jwkSet.getKeyByKeyId(signingKeyId) instanceof ECKey signingKey) || !signingKey.isPrivate())
+			throw new IllegalArgumentException("Private access token key " + signingKeyId + " not found");
+		this.signingKeyId = signingKeyId;
+		this.jwsAlgorithm = ECDSA.resolveAlgorithm(signingKey.getCurve());
+		this.jwsSigner = new ECDSASigner(signingKey);
+		this.jwsVerifiers = Map.copyOf(jwsVerifiers);
+		this.publicJwkSet = jwkSet.toPublicJWKSet().toString();
+	}
+
+}
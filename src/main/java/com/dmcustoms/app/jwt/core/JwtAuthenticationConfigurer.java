@@ -1,5 +1,7 @@
 package com.dmcustoms.app.jwt.core;
 
+import java.util.function.Function;
+
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -8,24 +10,25 @@ import org.springframework.security.config.annotation.web.configurers.CsrfConfig
 import org.springframework.security.web.access.ExceptionTranslationFilter;
 import org.springframework.security.web.authentication.AuthenticationFilter;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationProvider;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.web.csrf.CsrfFilter;
 import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 
-import com.dmcustoms.app.jwt.filters.GetCsrfTokenFilter;
-import com.dmcustoms.app.data.repositories.DeactivatedTokenRepository;
 import com.dmcustoms.app.data.repositories.UserRepository;
-import com.dmcustoms.app.jwt.filters.LogoutFilter;
-import com.dmcustoms.app.jwt.filters.RefreshTokenFilter;
-import com.dmcustoms.app.jwt.filters.LoginFilter;
-import com.dmcustoms.app.jwt.serializers.AccessTokenDeserializer;
+import com.dmcustoms.app.jwt.filters.AuthDispatcherFilter;
+import com.dmcustoms.app.jwt.revocation.TokenRevocationRegistry;
 import com.dmcustoms.app.jwt.serializers.AccessTokenSerializer;
 import com.dmcustoms.app.jwt.serializers.RefreshTokenDeserializer;
 import com.dmcustoms.app.jwt.serializers.RefreshTokenSerializer;
+import com.dmcustoms.app.security.PrincipalCache;
+import com.dmcustoms.app.web.filters.RateLimitFilter;
+import com.dmcustoms.app.web.filters.RateLimiter;
 
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.ObjectMapper;
 
 @Data
 @RequiredArgsConstructor
@@ -38,12 +41,18 @@ public class JwtAuthenticationConfigurer extends AbstractHttpConfigurer<JwtAuthe
 
 	private final RefreshTokenDeserializer refreshTokenDeserializer;
 
-	private final AccessTokenDeserializer accessTokenDeserializer;
+	private final Function<String, Token> accessTokenDeserializer;
 
-	private final DeactivatedTokenRepository deactivatedTokenRepository;
+	private final TokenRevocationRegistry tokenRevocationRegistry;
 
 	private final UserRepository userRepository;
 
+	private final PrincipalCache principalCache;
+
+	private final RateLimiter rateLimiter;
+
+	private final ObjectMapper objectMapper;
+
 	@Override
 	public void init(HttpSecurity builder) {
 		@SuppressWarnings("unchecked")
@@ -55,7 +64,9 @@ public class JwtAuthenticationConfigurer extends AbstractHttpConfigurer<JwtAuthe
 
 	@Override
 	public void configure(HttpSecurity builder) {
-		LoginFilter requestTokenFilter = new LoginFilter(refreshTokenSerializer, accessTokenSerializer);
+		AuthDispatcherFilter authDispatcherFilter = new AuthDispatcherFilter(
+				new RefreshTokenFactory(this.tokenRevocationRegistry::epochOf), this.refreshTokenSerializer,
+				this.accessTokenSerializer, this.tokenRevocationRegistry, this.objectMapper);
 		AuthenticationFilter authenticationFilter = new AuthenticationFilter(
 				(AuthenticationManager) builder.getSharedObject(AuthenticationManager.class),
 				new JwtAuthenticationConverter(this.accessTokenDeserializer, this.refreshTokenDeserializer));
@@ -64,15 +75,12 @@ public class JwtAuthenticationConfigurer extends AbstractHttpConfigurer<JwtAuthe
 				(request, response, exception) -> response.sendError(HttpServletResponse.SC_FORBIDDEN));
 		PreAuthenticatedAuthenticationProvider preAuthenticatedAuthenticationProvider = new PreAuthenticatedAuthenticationProvider();
 		preAuthenticatedAuthenticationProvider.setPreAuthenticatedUserDetailsService(
-				new TokenAuthenticationUserDetailsService(this.deactivatedTokenRepository, this.userRepository));
-		RefreshTokenFilter refreshTokenFilter = new RefreshTokenFilter(this.accessTokenSerializer);
-		LogoutFilter logoutFilter = new LogoutFilter(this.deactivatedTokenRepository);
-		GetCsrfTokenFilter getCsrfTokenFilter = new GetCsrfTokenFilter();
-		builder.addFilterBefore(requestTokenFilter, ExceptionTranslationFilter.class)
+				new TokenAuthenticationUserDetailsService(this.tokenRevocationRegistry, this.userRepository,
+						this.principalCache));
+		RateLimitFilter rateLimitFilter = new RateLimitFilter(this.rateLimiter);
+		builder.addFilterBefore(authDispatcherFilter, ExceptionTranslationFilter.class)
 				.addFilterBefore(authenticationFilter, CsrfFilter.class)
-				.addFilterBefore(refreshTokenFilter, ExceptionTranslationFilter.class)
-				.addFilterBefore(logoutFilter, ExceptionTranslationFilter.class)
-				.addFilterBefore(getCsrfTokenFilter, ExceptionTranslationFilter.class)
+				.addFilterBefore(rateLimitFilter, BasicAuthenticationFilter.class)
 				.authenticationProvider(preAuthenticatedAuthenticationProvider);
 	}
 
@@ -16,6 +16,12 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class JwtAuthenticationConverter implements AuthenticationConverter {
 
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private static final int JWS_SEGMENTS = 3;
+
+	private static final int JWE_SEGMENTS = 5;
+
 	private final Function<String, Token> accessTokenStringDeserializer;
 
 	private final Function<String, Token> refreshTokenStringDeserializer;
@@ -23,16 +29,26 @@ public class JwtAuthenticationConverter implements AuthenticationConverter {
 	@Override
 	public @Nullable Authentication convert(HttpServletRequest request) {
 		String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
-		if (authorization != null && authorization.startsWith("Bearer ")) {
-			String token = authorization.replace("Bearer ", "");
-			Token accessToken = this.accessTokenStringDeserializer.apply(token);
-			if (accessToken != null)
-				return new PreAuthenticatedAuthenticationToken(accessToken, token);
-			Token refreshToken = this.refreshTokenStringDeserializer.apply(token);
-			if (refreshToken != null)
-				return new PreAuthenticatedAuthenticationToken(refreshToken, token);
+		if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+			String token = authorization.substring(BEARER_PREFIX.length());
+			Token deserialized = switch (countSegments(token)) {
+			case JWS_SEGMENTS -> this.accessTokenStringDeserializer.apply(token);
+			case JWE_SEGMENTS -> this.refreshTokenStringDeserializer.apply(token);
+			default -> null;
+			};
+			if (deserialized != null)
+				return new PreAuthenticatedAuthenticationToken(deserialized, token);
 		}
 		return null;
 	}
 
+	private static int countSegments(String token) {
+		int segments = 1;
+		for (int i = 0; i < token.length(); i++) {
+			if (token.charAt(i) == '.')
+				segments++;
+		}
+		return segments;
+	}
+
 }
@@ -23,4 +23,10 @@ public class Token {
 	
 	private final Instant expiresAt;
 
+	private final int epoch;
+
+	public Token(UUID id, String subject, List<JwtAuthorities> authorities, Instant createdAt, Instant expiresAt) {
+		this(id, subject, authorities, createdAt, expiresAt, 0);
+	}
+
 }
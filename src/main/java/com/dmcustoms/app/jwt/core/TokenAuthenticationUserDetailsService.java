@@ -1,18 +1,18 @@
 package com.dmcustoms.app.jwt.core;
 
 import java.time.Instant;
-import java.util.Arrays;
 
 import org.springframework.security.core.userdetails.AuthenticationUserDetailsService;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
 
-import com.dmcustoms.app.data.entities.User;
-import com.dmcustoms.app.data.repositories.DeactivatedTokenRepository;
 import com.dmcustoms.app.data.repositories.UserRepository;
 import com.dmcustoms.app.data.types.Authorities;
 import com.dmcustoms.app.data.types.JwtAuthorities;
+import com.dmcustoms.app.jwt.revocation.TokenRevocationRegistry;
+import com.dmcustoms.app.security.AuthenticatedUser;
+import com.dmcustoms.app.security.PrincipalCache;
 
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -22,19 +22,24 @@ import lombok.RequiredArgsConstructor;
 public class TokenAuthenticationUserDetailsService
 		implements AuthenticationUserDetailsService<PreAuthenticatedAuthenticationToken> {
 
-	private final DeactivatedTokenRepository deactivatedTokenRepository;
+	private final TokenRevocationRegistry tokenRevocationRegistry;
 
 	private final UserRepository userRepository;
 
+	private final PrincipalCache principalCache;
+
 	@Override
 	public UserDetails loadUserDetails(PreAuthenticatedAuthenticationToken authenticationToken)
 			throws UsernameNotFoundException {
 		if (authenticationToken.getPrincipal() instanceof Token token
-				&& !deactivatedTokenRepository.existsById(token.getId())
+				&& !tokenRevocationRegistry.isRevoked(token)
 				&& token.getExpiresAt().isAfter(Instant.now())) {
-			User user = userRepository.findUserByEmail(token.getSubject()).get();
-			user.setToken(token);
-			if (!token.getAuthorities().contains(JwtAuthorities.JWT_ACCESS)) user.setAuthorities(Arrays.asList(Authorities.JWT));
+			AuthenticatedUser user = principalCache
+					.get(token.getSubject(),
+							email -> userRepository.findPrincipalByEmail(email).map(AuthenticatedUser::of))
+					.orElseThrow(() -> new UsernameNotFoundException("User not found")).withToken(token);
+			if (!token.getAuthorities().contains(JwtAuthorities.JWT_ACCESS))
+				return user.withAuthorities(AuthenticatedUser.maskOf(Authorities.JWT));
 			return user;
 		}
 		throw new UsernameNotFoundException("User not found");
@@ -0,0 +1,165 @@
+package com.dmcustoms.app.jwt.filters;
+
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.util.Map;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.CsrfTokenRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.dmcustoms.app.data.dto.AccessTokenDTO;
+import com.dmcustoms.app.data.dto.TokensDTO;
+import com.dmcustoms.app.data.types.JwtAuthorities;
+import com.dmcustoms.app.jwt.core.AccessTokenFactory;
+import com.dmcustoms.app.jwt.core.RefreshTokenFactory;
+import com.dmcustoms.app.jwt.core.Token;
+import com.dmcustoms.app.jwt.revocation.TokenRevocationRegistry;
+import com.dmcustoms.app.jwt.serializers.AccessTokenSerializer;
+import com.dmcustoms.app.jwt.serializers.RefreshTokenSerializer;
+import com.dmcustoms.app.security.AuthenticatedUser;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+@Slf4j
+public class AuthDispatcherFilter extends OncePerRequestFilter {
+
+	private static final String PREFIX = "/api/auth/";
+
+	private final Map<String, Route> routes = Map.of(
+			"/api/auth/login", new Route(HttpMethod.POST, this::login),
+			"/api/auth/refresh", new Route(HttpMethod.POST, this::refresh),
+			"/api/auth/logout", new Route(HttpMethod.POST, this::logout),
+			"/api/auth/csrf", new Route(HttpMethod.GET, this::csrf));
+
+	private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
+	private final CsrfTokenRepository csrfTokenRepository = new CookieCsrfTokenRepository();
+
+	private final AccessTokenFactory accessTokenFactory = new AccessTokenFactory();
+
+	private final RefreshTokenFactory refreshTokenFactory;
+
+	private final RefreshTokenSerializer refreshTokenSerializer;
+
+	private final AccessTokenSerializer accessTokenSerializer;
+
+	private final TokenRevocationRegistry tokenRevocationRegistry;
+
+	private final ObjectWriter tokensWriter;
+
+	private final ObjectWriter accessTokenWriter;
+
+	private final ObjectWriter csrfTokenWriter;
+
+	public AuthDispatcherFilter(RefreshTokenFactory refreshTokenFactory, RefreshTokenSerializer refreshTokenSerializer,
+			AccessTokenSerializer accessTokenSerializer, TokenRevocationRegistry tokenRevocationRegistry,
+			ObjectMapper objectMapper) {
+		this.refreshTokenFactory = refreshTokenFactory;
+		this.refreshTokenSerializer = refreshTokenSerializer;
+		this.accessTokenSerializer = accessTokenSerializer;
+		this.tokenRevocationRegistry = tokenRevocationRegistry;
+		this.tokensWriter = objectMapper.writerFor(TokensDTO.class);
+		this.accessTokenWriter = objectMapper.writerFor(AccessTokenDTO.class);
+		this.csrfTokenWriter = objectMapper.writerFor(CsrfToken.class);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String uri = request.getRequestURI();
+		int contextPathLength = request.getContextPath().length();
+		Route route = uri.startsWith(PREFIX, contextPathLength) ? this.routes.get(uri.substring(contextPathLength))
+				: null;
+		if (route == null || !route.method().matches(request.getMethod())) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		route.handler().handle(request, response);
+	}
+
+	private void login(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		SecurityContext context = loadContext(request);
+		if (context != null && !(context.getAuthentication() instanceof PreAuthenticatedAuthenticationToken)) {
+			Token refreshToken = this.refreshTokenFactory.apply(context.getAuthentication());
+			Token accessToken = this.accessTokenFactory.apply(refreshToken);
+			write(response, this.tokensWriter,
+					new TokensDTO(this.accessTokenSerializer.apply(accessToken), accessToken.getExpiresAt().toString(),
+							this.refreshTokenSerializer.apply(refreshToken), refreshToken.getExpiresAt().toString()));
+			return;
+		}
+		log.error("Caused issue in login route of AuthDispatcherFilter.class");
+		throw new AccessDeniedException("Caused issue in login route of AuthDispatcherFilter.class");
+	}
+
+	private void refresh(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		AuthenticatedUser user = tokenUser(request, JwtAuthorities.JWT_REFRESH);
+		if (user != null) {
+			Token accessToken = this.accessTokenFactory.apply(user.token());
+			write(response, this.accessTokenWriter, new AccessTokenDTO(this.accessTokenSerializer.apply(accessToken),
+					accessToken.getExpiresAt().toString()));
+			return;
+		}
+		log.error("Caused issue in refresh route of AuthDispatcherFilter.class");
+		throw new AccessDeniedException("Caused issue in refresh route of AuthDispatcherFilter.class");
+	}
+
+	private void logout(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		AuthenticatedUser user = tokenUser(request, JwtAuthorities.JWT_LOGOUT);
+		if (user != null) {
+			this.tokenRevocationRegistry.revoke(user.token().getId(), user.token().getExpiresAt());
+			return;
+		}
+		log.error("Caused issue in logout route of AuthDispatcherFilter.class");
+		throw new AccessDeniedException("Caused issue in logout route of AuthDispatcherFilter.class");
+	}
+
+	private void csrf(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		write(response, this.csrfTokenWriter, this.csrfTokenRepository.loadDeferredToken(request, response).get());
+	}
+
+	private SecurityContext loadContext(HttpServletRequest request) {
+		if (!this.securityContextRepository.containsContext(request))
+			return null;
+		return this.securityContextRepository.loadDeferredContext(request).get();
+	}
+
+	private AuthenticatedUser tokenUser(HttpServletRequest request, JwtAuthorities authority) {
+		SecurityContext context = loadContext(request);
+		if (context != null && context.getAuthentication() instanceof PreAuthenticatedAuthenticationToken
+				&& context.getAuthentication().getPrincipal() instanceof AuthenticatedUser user
+				&& user.token().getAuthorities().contains(authority))
+			return user;
+		return null;
+	}
+
+	private void write(HttpServletResponse response, ObjectWriter writer, Object body) throws IOException {
+		response.setStatus(HttpServletResponse.SC_OK);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		writer.writeValue(response.getOutputStream(), body);
+	}
+
+	private record Route(HttpMethod method, Handler handler) {
+	}
+
+	@FunctionalInterface
+	private interface Handler {
+
+		void handle(HttpServletRequest request, HttpServletResponse response) throws IOException;
+
+	}
+
+}
@@ -1,41 +0,0 @@
-package com.dmcustoms.app.jwt.filters;
-
-import java.io.IOException;
-
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
-import org.springframework.security.web.csrf.CsrfTokenRepository;
-import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
-import org.springframework.security.web.util.matcher.RequestMatcher;
-import org.springframework.web.filter.OncePerRequestFilter;
-
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import tools.jackson.databind.ObjectMapper;
-
-public class GetCsrfTokenFilter extends OncePerRequestFilter {
-
-	private final RequestMatcher requestMatcher = PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET,
-			"/api/auth/csrf");
-
-	private final CsrfTokenRepository csrfTokenRepository = new CookieCsrfTokenRepository();
-
-	private final ObjectMapper objectMapper = new ObjectMapper();
-
-	@Override
-	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
-			throws ServletException, IOException {
-		if (requestMatcher.matches(request)) {
-			response.setStatus(HttpServletResponse.SC_OK);
-			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-			this.objectMapper.writeValue(response.getWriter(),
-					this.csrfTokenRepository.loadDeferredToken(request, response).get());
-			return;
-		}
-		filterChain.doFilter(request, response);
-	}
-
-}
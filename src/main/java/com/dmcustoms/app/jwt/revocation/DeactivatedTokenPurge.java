@@ -0,0 +1,149 @@
+package com.dmcustoms.app.jwt.revocation;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dmcustoms.app.data.repositories.DeactivatedTokenRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class DeactivatedTokenPurge {
+
+	private static final String PARTITION_PREFIX = "deactivated_token_p";
+
+	private static final String DEFAULT_PARTITION = "deactivated_token_default";
+
+	private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+	private final DeactivatedTokenRepository deactivatedTokenRepository;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final int chunkSize;
+
+	private final Duration throttle;
+
+	private final int partitionsAhead;
+
+	private final Counter purgedRows;
+
+	private final Counter droppedPartitions;
+
+	private final Counter failedPartitions;
+
+	private final Timer duration;
+
+	public DeactivatedTokenPurge(DeactivatedTokenRepository deactivatedTokenRepository, JdbcTemplate jdbcTemplate,
+			TransactionTemplate transactionTemplate, MeterRegistry meterRegistry, @Value("${jwt.revocation.purge-chunk-size:1000}") int chunkSize,
+			@Value("${jwt.revocation.purge-throttle:PT0.1S}") Duration throttle,
+			@Value("${jwt.revocation.partitions-ahead:3}") int partitionsAhead) {
+		this.deactivatedTokenRepository = deactivatedTokenRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.chunkSize = chunkSize;
+		this.throttle = throttle;
+		this.partitionsAhead = partitionsAhead;
+		this.purgedRows = meterRegistry.counter("cards.deactivated_tokens.purged");
+		this.droppedPartitions = meterRegistry.counter("cards.deactivated_tokens.partitions.dropped");
+		this.failedPartitions = meterRegistry.counter("cards.deactivated_tokens.partitions.failed");
+		this.duration = meterRegistry.timer("cards.deactivated_tokens.purge.duration");
+	}
+
+	@Scheduled(initialDelay = 0, fixedDelayString = "${jwt.revocation.purge-interval:PT1H}")
+	public void purge() {
+		this.duration.record(() -> {
+			LocalDate today = LocalDate.now(ZoneOffset.UTC);
+			createPartitions(today);
+			dropExpiredPartitions(today);
+			deleteExpiredRows();
+		});
+	}
+
+	private void createPartitions(LocalDate today) {
+		for (int i = 0; i <= this.partitionsAhead; i++) {
+			LocalDate day = today.plusDays(i);
+			String partition = PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+			if (this.jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition))
+				continue;
+			try {
+				this.transactionTemplate.executeWithoutResult(status -> createPartition(partition, day));
+			} catch (DataAccessException e) {
+				this.failedPartitions.increment();
+				log.error("Could not create deactivated token partition for {}, new revocations of that day go to "
+						+ "{}: {}", day, DEFAULT_PARTITION, e.getMessage());
+			}
+		}
+	}
+
+	private void createPartition(String partition, LocalDate day) {
+		String create = "CREATE TABLE " + partition + " PARTITION OF deactivated_token FOR VALUES FROM ('" + day
+				+ "') TO ('" + day.plusDays(1) + "')";
+		boolean conflicting = this.jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION
+				+ " WHERE keep_until >= ?::timestamp AND keep_until < ?::timestamp)", Boolean.class, day.toString(),
+				day.plusDays(1).toString());
+		if (!conflicting) {
+			this.jdbcTemplate.execute(create);
+			return;
+		}
+		this.jdbcTemplate.execute("ALTER TABLE deactivated_token DETACH PARTITION " + DEFAULT_PARTITION);
+		this.jdbcTemplate.execute(create);
+		int moved = this.jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+				+ " WHERE keep_until >= ?::timestamp AND keep_until < ?::timestamp RETURNING *) "
+				+ "INSERT INTO deactivated_token SELECT * FROM moved", day.toString(), day.plusDays(1).toString());
+		this.jdbcTemplate.execute("ALTER TABLE deactivated_token ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+		log.warn("Moved {} rows from {} into new deactivated token partition {}", moved, DEFAULT_PARTITION, partition);
+	}
+
+	private void dropExpiredPartitions(LocalDate today) {
+		List<String> partitions = this.jdbcTemplate.queryForList(
+				"SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+						+ "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'deactivated_token'",
+				String.class);
+		for (String partition : partitions) {
+			if (!partition.startsWith(PARTITION_PREFIX))
+				continue;
+			LocalDate day = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+			if (day.plusDays(1).isBefore(today)) {
+				this.jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+				this.droppedPartitions.increment();
+				log.info("Dropped expired deactivated token partition {}", partition);
+			}
+		}
+	}
+
+	private void deleteExpiredRows() {
+		Date now = new Date();
+		int deleted;
+		do {
+			deleted = this.deactivatedTokenRepository.deleteExpired(now, this.chunkSize);
+			this.purgedRows.increment(deleted);
+			if (deleted == this.chunkSize && !this.throttle.isZero()) {
+				try {
+					Thread.sleep(this.throttle);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		} while (deleted == this.chunkSize);
+	}
+
+}
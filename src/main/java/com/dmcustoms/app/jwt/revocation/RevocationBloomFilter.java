@@ -0,0 +1,47 @@
+package com.dmcustoms.app.jwt.revocation;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+class RevocationBloomFilter {
+
+	private static final int BITS_PER_ENTRY = 10;
+
+	private static final int HASH_FUNCTIONS = 7;
+
+	private final AtomicLongArray words;
+
+	private final long bitCount;
+
+	RevocationBloomFilter(int expectedEntries) {
+		int wordCount = Math.max(1, (int) (((long) expectedEntries * BITS_PER_ENTRY + 63) / 64));
+		this.words = new AtomicLongArray(wordCount);
+		this.bitCount = (long) wordCount * 64;
+	}
+
+	void put(UUID id) {
+		long first = id.getMostSignificantBits();
+		long second = id.getLeastSignificantBits() | 1;
+		for (int i = 0; i < HASH_FUNCTIONS; i++) {
+			long bit = Math.floorMod(first + i * second, this.bitCount);
+			int word = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long current;
+			while (((current = this.words.get(word)) & mask) == 0
+					&& !this.words.compareAndSet(word, current, current | mask))
+				;
+		}
+	}
+
+	boolean mightContain(UUID id) {
+		long first = id.getMostSignificantBits();
+		long second = id.getLeastSignificantBits() | 1;
+		for (int i = 0; i < HASH_FUNCTIONS; i++) {
+			long bit = Math.floorMod(first + i * second, this.bitCount);
+			if ((this.words.get((int) (bit >>> 6)) & (1L << bit)) == 0)
+				return false;
+		}
+		return true;
+	}
+
+}
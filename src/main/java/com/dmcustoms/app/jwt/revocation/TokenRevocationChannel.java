@@ -0,0 +1,145 @@
+package com.dmcustoms.app.jwt.revocation;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class TokenRevocationChannel {
+
+	private static final String CHANNEL = "token_revocations";
+
+	private static final String EPOCH_PREFIX = "epoch,";
+
+	private static final String PRINCIPAL_PREFIX = "principal,";
+
+	private static final int POLL_TIMEOUT_MILLIS = 5000;
+
+	private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+	private final JdbcConnectionDetails connectionDetails;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final boolean enabled;
+
+	private final List<Consumer<String>> principalConsumers = new CopyOnWriteArrayList<Consumer<String>>();
+
+	private final List<Runnable> principalResets = new CopyOnWriteArrayList<Runnable>();
+
+	private volatile boolean running;
+
+	private Thread listener;
+
+	public TokenRevocationChannel(JdbcConnectionDetails connectionDetails, JdbcTemplate jdbcTemplate,
+			@Value("${jwt.revocation.notify-enabled:true}") boolean enabled) {
+		this.connectionDetails = connectionDetails;
+		this.jdbcTemplate = jdbcTemplate;
+		this.enabled = enabled;
+	}
+
+	public void publish(UUID id, Instant keepUntil) {
+		if (!this.enabled)
+			return;
+		this.jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) resultSet -> null, CHANNEL,
+				id + "," + keepUntil.toEpochMilli());
+	}
+
+	public void publishEpoch(String subject, int epoch) {
+		if (!this.enabled)
+			return;
+		this.jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) resultSet -> null, CHANNEL,
+				EPOCH_PREFIX + epoch + "," + subject);
+	}
+
+	public void publishPrincipal(String email) {
+		if (!this.enabled)
+			return;
+		this.jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) resultSet -> null, CHANNEL,
+				PRINCIPAL_PREFIX + email);
+	}
+
+	public void subscribePrincipals(Consumer<String> consumer, Runnable onConnect) {
+		this.principalConsumers.add(consumer);
+		this.principalResets.add(onConnect);
+	}
+
+	public synchronized void subscribe(BiConsumer<UUID, Instant> consumer, BiConsumer<String, Integer> epochConsumer,
+			Runnable onConnect) {
+		if (!this.enabled || this.listener != null)
+			return;
+		this.running = true;
+		this.listener = Thread.ofPlatform().daemon().name("token-revocation-listener")
+				.start(() -> listen(consumer, epochConsumer, onConnect));
+	}
+
+	@PreDestroy
+	public synchronized void close() {
+		this.running = false;
+		if (this.listener != null)
+			this.listener.interrupt();
+	}
+
+	private void listen(BiConsumer<UUID, Instant> consumer, BiConsumer<String, Integer> epochConsumer,
+			Runnable onConnect) {
+		while (this.running) {
+			try (Connection connection = DriverManager.getConnection(this.connectionDetails.getJdbcUrl(),
+					this.connectionDetails.getUsername(), this.connectionDetails.getPassword())) {
+				PGConnection pgConnection = connection.unwrap(PGConnection.class);
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("LISTEN " + CHANNEL);
+				}
+				onConnect.run();
+				this.principalResets.forEach(Runnable::run);
+				while (this.running) {
+					PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+					if (notifications == null)
+						continue;
+					for (PGNotification notification : notifications) {
+						if (notification.getParameter().startsWith(PRINCIPAL_PREFIX)) {
+							String email = notification.getParameter().substring(PRINCIPAL_PREFIX.length());
+							this.principalConsumers.forEach(principalConsumer -> principalConsumer.accept(email));
+							continue;
+						}
+						if (notification.getParameter().startsWith(EPOCH_PREFIX)) {
+							String[] payload = notification.getParameter().split(",", 3);
+							epochConsumer.accept(payload[2], Integer.parseInt(payload[1]));
+							continue;
+						}
+						String[] payload = notification.getParameter().split(",");
+						consumer.accept(UUID.fromString(payload[0]), Instant.ofEpochMilli(Long.parseLong(payload[1])));
+					}
+				}
+			} catch (SQLException | RuntimeException e) {
+				if (!this.running)
+					return;
+				log.warn("Token revocation listener disconnected: {}", e.getMessage());
+				try {
+					Thread.sleep(RECONNECT_DELAY_MILLIS);
+				} catch (InterruptedException interrupted) {
+					return;
+				}
+			}
+		}
+	}
+
+}
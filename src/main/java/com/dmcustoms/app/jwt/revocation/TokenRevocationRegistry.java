@@ -0,0 +1,126 @@
+package com.dmcustoms.app.jwt.revocation;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.dmcustoms.app.data.entities.DeactivatedToken;
+import com.dmcustoms.app.data.entities.TokenEpoch;
+import com.dmcustoms.app.data.repositories.DeactivatedTokenRepository;
+import com.dmcustoms.app.data.repositories.TokenEpochRepository;
+import com.dmcustoms.app.jwt.core.Token;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class TokenRevocationRegistry {
+
+	private final ConcurrentMap<UUID, Instant> revokedTokens = new ConcurrentHashMap<UUID, Instant>();
+
+	private final ConcurrentMap<String, Integer> tokenEpochs = new ConcurrentHashMap<String, Integer>();
+
+	private final List<Consumer<UUID>> listeners = new CopyOnWriteArrayList<Consumer<UUID>>();
+
+	private final DeactivatedTokenRepository deactivatedTokenRepository;
+
+	private final TokenRevocationChannel tokenRevocationChannel;
+
+	private final TokenEpochRepository tokenEpochRepository;
+
+	private final int expectedTokens;
+
+	private volatile RevocationBloomFilter bloomFilter;
+
+	public TokenRevocationRegistry(DeactivatedTokenRepository deactivatedTokenRepository,
+			TokenRevocationChannel tokenRevocationChannel, TokenEpochRepository tokenEpochRepository,
+			@Value("${jwt.revocation.expected-tokens:100000}") int expectedTokens) {
+		this.deactivatedTokenRepository = deactivatedTokenRepository;
+		this.tokenRevocationChannel = tokenRevocationChannel;
+		this.tokenEpochRepository = tokenEpochRepository;
+		this.expectedTokens = expectedTokens;
+		this.bloomFilter = new RevocationBloomFilter(expectedTokens);
+	}
+
+	@PostConstruct
+	public void init() {
+		reload();
+		this.tokenRevocationChannel.subscribe(this::registerAndNotify, this::registerEpoch, this::reload);
+	}
+
+	public boolean isRevoked(UUID id) {
+		return this.bloomFilter.mightContain(id) && this.revokedTokens.containsKey(id);
+	}
+
+	public boolean isRevoked(Token token) {
+		return token.getEpoch() < epochOf(token.getSubject()) || isRevoked(token.getId());
+	}
+
+	public int epochOf(String subject) {
+		return this.tokenEpochs.getOrDefault(subject, 0);
+	}
+
+	public void addListener(Consumer<UUID> listener) {
+		this.listeners.add(listener);
+	}
+
+	public void revoke(UUID id, Instant keepUntil) {
+		this.deactivatedTokenRepository.save(new DeactivatedToken(id, Date.from(keepUntil)));
+		registerAndNotify(id, keepUntil);
+		this.tokenRevocationChannel.publish(id, keepUntil);
+	}
+
+	public void revokeAll(String subject) {
+		int epoch = this.tokenEpochRepository.incrementTokenEpoch(subject);
+		registerEpoch(subject, epoch);
+		this.tokenRevocationChannel.publishEpoch(subject, epoch);
+	}
+
+	public void reload() {
+		List<DeactivatedToken> deactivatedTokens = this.deactivatedTokenRepository
+				.findDeactivatedTokensByKeepUntilAfter(new Date());
+		for (DeactivatedToken deactivatedToken : deactivatedTokens)
+			register(deactivatedToken.getId(), deactivatedToken.getKeepUntil().toInstant());
+		List<TokenEpoch> tokenEpochs = this.tokenEpochRepository.findAll();
+		for (TokenEpoch tokenEpoch : tokenEpochs)
+			registerEpoch(tokenEpoch.getEmail(), tokenEpoch.getTokenEpoch());
+		log.info("Loaded {} revoked tokens and {} token epochs", deactivatedTokens.size(), tokenEpochs.size());
+	}
+
+	@Scheduled(fixedDelayString = "${jwt.revocation.cleanup-interval:PT10M}")
+	public synchronized void evictExpired() {
+		Instant now = Instant.now();
+		this.revokedTokens.values().removeIf(keepUntil -> keepUntil.isBefore(now));
+		RevocationBloomFilter rebuilt = new RevocationBloomFilter(
+				Math.max(this.expectedTokens, this.revokedTokens.size() * 2));
+		this.revokedTokens.keySet().forEach(rebuilt::put);
+		this.bloomFilter = rebuilt;
+	}
+
+	private void registerAndNotify(UUID id, Instant keepUntil) {
+		register(id, keepUntil);
+		this.listeners.forEach(listener -> listener.accept(id));
+	}
+
+	private void registerEpoch(String subject, int epoch) {
+		this.tokenEpochs.merge(subject, epoch, Math::max);
+	}
+
+	private synchronized void register(UUID id, Instant keepUntil) {
+		if (keepUntil.isBefore(Instant.now()))
+			return;
+		this.revokedTokens.put(id, keepUntil);
+		this.bloomFilter.put(id);
+	}
+
+}
@@ -1,15 +1,15 @@
 package com.dmcustoms.app.jwt.serializers;
 
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
-import java.util.UUID;
 import java.util.function.Function;
 
-import com.dmcustoms.app.data.types.JwtAuthorities;
+import com.dmcustoms.app.jwt.core.AccessTokenKeys;
 import com.dmcustoms.app.jwt.core.Token;
 import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSVerifier;
-import com.nimbusds.jwt.JWTClaimsSet;
-import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jose.util.Base64URL;
 
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -20,21 +20,23 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class AccessTokenDeserializer implements Function<String, Token> {
 
-	private final JWSVerifier jwsVerifier;
+	private final AccessTokenKeys accessTokenKeys;
 
 	@Override
 	public Token apply(String token) {
+		int header = token.indexOf('.');
+		int payload = token.indexOf('.', header + 1);
+		if (header < 0 || payload < 0 || token.indexOf('.', payload + 1) >= 0)
+			return null;
 		try {
-			SignedJWT signedJWT = SignedJWT.parse(token);
-			if (signedJWT.verify(jwsVerifier)) {
-				JWTClaimsSet jwtClaimsSet = signedJWT.getJWTClaimsSet();
-				return new Token(UUID.fromString(jwtClaimsSet.getJWTID()), jwtClaimsSet.getSubject(),
-						jwtClaimsSet.getStringListClaim("authorities").stream()
-								.map(authority -> Enum.valueOf(JwtAuthorities.class, authority)).toList(),
-						jwtClaimsSet.getIssueTime().toInstant(), jwtClaimsSet.getExpirationTime().toInstant());
-			} else {
+			JWSHeader jwsHeader = JWSHeader.parse(new Base64URL(token.substring(0, header)));
+			JWSVerifier jwsVerifier = jwsHeader.getKeyID() == null ? null
+					: this.accessTokenKeys.getJwsVerifiers().get(jwsHeader.getKeyID());
+			if (jwsVerifier == null
+					|| !jwsVerifier.verify(jwsHeader, token.substring(0, payload).getBytes(StandardCharsets.US_ASCII),
+							new Base64URL(token.substring(payload + 1))))
 				return null;
-			}
+			return TokenClaimsCodec.decode(new Base64URL(token.substring(header + 1, payload)).decode());
 		} catch (ParseException | JOSEException e) {
 			log.warn(e.getMessage());
 			return null;
@@ -1,15 +1,13 @@
 package com.dmcustoms.app.jwt.serializers;
 
-import java.util.Date;
 import java.util.function.Function;
 
+import com.dmcustoms.app.jwt.core.AccessTokenKeys;
 import com.dmcustoms.app.jwt.core.Token;
 import com.nimbusds.jose.JOSEException;
-import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
-import com.nimbusds.jose.JWSSigner;
-import com.nimbusds.jwt.JWTClaimsSet;
-import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
 
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -20,22 +18,16 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class AccessTokenSerializer implements Function<Token, String> {
 
-	private final JWSSigner jwsSigner;
-
-	private final JWSAlgorithm jwsAlgorithm = JWSAlgorithm.HS256;
+	private final AccessTokenKeys accessTokenKeys;
 
 	@Override
 	public String apply(Token token) {
-		JWSHeader jwsHeader = new JWSHeader.Builder(this.jwsAlgorithm).keyID(token.getId().toString()).build();
-		JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder().jwtID(token.getId().toString())
-				.subject(token.getSubject()).issueTime(Date.from(token.getCreatedAt()))
-				.expirationTime(Date.from(token.getExpiresAt()))
-				.claim("authorities", token.getAuthorities().stream().map(authority -> authority.authority).toList())
-				.build();
-		SignedJWT signedJWT = new SignedJWT(jwsHeader, jwtClaimsSet);
+		JWSHeader jwsHeader = new JWSHeader.Builder(this.accessTokenKeys.getJwsAlgorithm())
+				.keyID(this.accessTokenKeys.getSigningKeyId()).build();
+		JWSObject jwsObject = new JWSObject(jwsHeader, new Payload(TokenClaimsCodec.encode(token)));
 		try {
-			signedJWT.sign(jwsSigner);
-			return signedJWT.serialize();
+			jwsObject.sign(this.accessTokenKeys.getJwsSigner());
+			return jwsObject.serialize();
 		} catch (JOSEException e) {
 			log.error(e.getMessage(), e);
 		}
@@ -0,0 +1,106 @@
+package com.dmcustoms.app.jwt.serializers;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import com.dmcustoms.app.jwt.core.Token;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class CachingAccessTokenDeserializer implements Function<String, Token> {
+
+	private final LinkedHashMap<ByteBuffer, Token> verifiedTokens = new LinkedHashMap<ByteBuffer, Token>();
+
+	private final Map<UUID, ByteBuffer> keysById = new HashMap<UUID, ByteBuffer>();
+
+	private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(() -> {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	});
+
+	private final Function<String, Token> accessTokenDeserializer;
+
+	private final int maxSize;
+
+	private final Counter hits;
+
+	private final Counter misses;
+
+	public CachingAccessTokenDeserializer(Function<String, Token> accessTokenDeserializer, int maxSize,
+			MeterRegistry meterRegistry) {
+		this.accessTokenDeserializer = accessTokenDeserializer;
+		this.maxSize = maxSize;
+		this.hits = meterRegistry.counter("cards.access_token.cache.requests", "result", "hit");
+		this.misses = meterRegistry.counter("cards.access_token.cache.requests", "result", "miss");
+		Gauge.builder("cards.access_token.cache.size", this, CachingAccessTokenDeserializer::size)
+				.register(meterRegistry);
+	}
+
+	@Override
+	public Token apply(String token) {
+		ByteBuffer key = ByteBuffer.wrap(this.digests.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+		Instant now = Instant.now();
+		synchronized (this.verifiedTokens) {
+			Token cached = this.verifiedTokens.get(key);
+			if (cached != null) {
+				if (cached.getExpiresAt().isAfter(now)) {
+					this.hits.increment();
+					return cached;
+				}
+				remove(key);
+			}
+		}
+		this.misses.increment();
+		Token verified = this.accessTokenDeserializer.apply(token);
+		if (verified != null && verified.getExpiresAt().isAfter(now)) {
+			synchronized (this.verifiedTokens) {
+				Iterator<Map.Entry<ByteBuffer, Token>> eldest = this.verifiedTokens.entrySet().iterator();
+				while (eldest.hasNext()) {
+					Map.Entry<ByteBuffer, Token> entry = eldest.next();
+					if (entry.getValue().getExpiresAt().isAfter(now) && this.verifiedTokens.size() < this.maxSize)
+						break;
+					eldest.remove();
+					this.keysById.remove(entry.getValue().getId(), entry.getKey());
+				}
+				this.verifiedTokens.put(key, verified);
+				this.keysById.put(verified.getId(), key);
+			}
+		}
+		return verified;
+	}
+
+	public void evict(UUID tokenId) {
+		synchronized (this.verifiedTokens) {
+			ByteBuffer key = this.keysById.remove(tokenId);
+			if (key != null)
+				this.verifiedTokens.remove(key);
+		}
+	}
+
+	public int size() {
+		synchronized (this.verifiedTokens) {
+			return this.verifiedTokens.size();
+		}
+	}
+
+	private void remove(ByteBuffer key) {
+		Token removed = this.verifiedTokens.remove(key);
+		if (removed != null)
+			this.keysById.remove(removed.getId(), key);
+	}
+
+}
@@ -1,15 +1,12 @@
 package com.dmcustoms.app.jwt.serializers;
 
 import java.text.ParseException;
-import java.util.UUID;
 import java.util.function.Function;
 
-import com.dmcustoms.app.data.types.JwtAuthorities;
 import com.dmcustoms.app.jwt.core.Token;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWEDecrypter;
-import com.nimbusds.jwt.EncryptedJWT;
-import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jose.JWEObject;
 
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -25,13 +22,9 @@ public class RefreshTokenDeserializer implements Function<String, Token> {
 	@Override
 	public Token apply(String token) {
 		try {
-			EncryptedJWT encryptedJWT = EncryptedJWT.parse(token);
-			encryptedJWT.decrypt(jweDecrypter);
-			JWTClaimsSet jwtClaimsSet = encryptedJWT.getJWTClaimsSet();
-			return new Token(UUID.fromString(jwtClaimsSet.getJWTID()), jwtClaimsSet.getSubject(),
-					jwtClaimsSet.getStringListClaim("authorities").stream()
-							.map(authority -> Enum.valueOf(JwtAuthorities.class, authority)).toList(),
-					jwtClaimsSet.getIssueTime().toInstant(), jwtClaimsSet.getExpirationTime().toInstant());
+			JWEObject jweObject = JWEObject.parse(token);
+			jweObject.decrypt(jweDecrypter);
+			return TokenClaimsCodec.decode(jweObject.getPayload().toBytes());
 		} catch (ParseException | JOSEException e) {
 			log.warn(e.getMessage(), e);
 			return null;
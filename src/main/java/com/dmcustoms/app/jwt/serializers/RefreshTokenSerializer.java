@@ -1,6 +1,5 @@
 package com.dmcustoms.app.jwt.serializers;
 
-import java.util.Date;
 import java.util.function.Function;
 
 import com.dmcustoms.app.jwt.core.Token;
@@ -9,8 +8,8 @@ import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWEAlgorithm;
 import com.nimbusds.jose.JWEEncrypter;
 import com.nimbusds.jose.JWEHeader;
-import com.nimbusds.jwt.EncryptedJWT;
-import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jose.JWEObject;
+import com.nimbusds.jose.Payload;
 
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -31,15 +30,10 @@ public class RefreshTokenSerializer implements Function<Token, String> {
 	public String apply(Token token) {
 		JWEHeader jweHeader = new JWEHeader.Builder(this.jweAlgorithm, this.encryptionMethod)
 				.keyID(token.getId().toString()).build();
-		JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder().jwtID(token.getId().toString())
-				.subject(token.getSubject()).issueTime(Date.from(token.getCreatedAt()))
-				.expirationTime(Date.from(token.getExpiresAt()))
-				.claim("authorities", token.getAuthorities().stream().map(authority -> authority.authority).toList())
-				.build();
-		EncryptedJWT encryptedJWT = new EncryptedJWT(jweHeader, jwtClaimsSet);
+		JWEObject jweObject = new JWEObject(jweHeader, new Payload(TokenClaimsCodec.encode(token)));
 		try {
-			encryptedJWT.encrypt(jweEncrypter);
-			return encryptedJWT.serialize();
+			jweObject.encrypt(jweEncrypter);
+			return jweObject.serialize();
 		} catch (JOSEException e) {
 			log.error(e.getMessage(), e);
 		}
@@ -0,0 +1,271 @@
+package com.dmcustoms.app.jwt.serializers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import com.dmcustoms.app.data.types.JwtAuthorities;
+import com.dmcustoms.app.jwt.core.Token;
+
+public final class TokenClaimsCodec {
+
+	private static final JwtAuthorities[] AUTHORITIES = JwtAuthorities.values();
+
+	private static final List<List<JwtAuthorities>> AUTHORITIES_BY_MASK = new ArrayList<List<JwtAuthorities>>();
+
+	static {
+		for (int mask = 0; mask < 1 << AUTHORITIES.length; mask++) {
+			List<JwtAuthorities> authorities = new ArrayList<JwtAuthorities>();
+			for (JwtAuthorities authority : AUTHORITIES) {
+				if ((mask & 1 << authority.ordinal()) != 0)
+					authorities.add(authority);
+			}
+			AUTHORITIES_BY_MASK.add(Collections.unmodifiableList(authorities));
+		}
+	}
+
+	private TokenClaimsCodec() {
+	}
+
+	public static String encode(Token token) {
+		StringBuilder json = new StringBuilder(128);
+		json.append("{\"jti\":\"").append(token.getId()).append("\",\"sub\":");
+		appendString(json, token.getSubject());
+		json.append(",\"iat\":").append(token.getCreatedAt().getEpochSecond()).append(",\"exp\":")
+				.append(token.getExpiresAt().getEpochSecond()).append(",\"auth\":")
+				.append(maskOf(token.getAuthorities())).append(",\"epc\":")
+				.append(token.getEpoch()).append('}');
+		return json.toString();
+	}
+
+	public static Token decode(byte[] json) {
+		Cursor cursor = new Cursor(new String(json, StandardCharsets.UTF_8));
+		String id = null;
+		String subject = null;
+		long issuedAt = -1;
+		long expiresAt = -1;
+		long epoch = 0;
+		List<JwtAuthorities> authorities = null;
+		if (!cursor.consume('{'))
+			return null;
+		if (!cursor.consume('}')) {
+			do {
+				String name = cursor.readString();
+				if (name == null || !cursor.consume(':'))
+					return null;
+				switch (name) {
+				case "jti" -> id = cursor.readString();
+				case "sub" -> subject = cursor.readString();
+				case "iat" -> issuedAt = cursor.readLong();
+				case "exp" -> expiresAt = cursor.readLong();
+				case "epc" -> epoch = cursor.readLong();
+				case "auth" -> authorities = authoritiesOf(cursor.readLong());
+				case "authorities" -> authorities = authoritiesOf(cursor.readAuthorityNames());
+				default -> cursor.skipValue();
+				}
+				if (cursor.failed)
+					return null;
+			} while (cursor.consume(','));
+			if (!cursor.consume('}'))
+				return null;
+		}
+		if (id == null || id.length() != 36 || subject == null || issuedAt < 0 || expiresAt < 0
+				|| authorities == null || epoch > Integer.MAX_VALUE || !cursor.atEnd())
+			return null;
+		return new Token(UUID.fromString(id), subject, authorities, Instant.ofEpochSecond(issuedAt),
+				Instant.ofEpochSecond(expiresAt), (int) epoch);
+	}
+
+	public static int maskOf(List<JwtAuthorities> authorities) {
+		int mask = 0;
+		for (JwtAuthorities authority : authorities)
+			mask |= 1 << authority.ordinal();
+		return mask;
+	}
+
+	public static List<JwtAuthorities> authoritiesOf(long mask) {
+		if (mask < 0 || mask >= AUTHORITIES_BY_MASK.size())
+			return null;
+		return AUTHORITIES_BY_MASK.get((int) mask);
+	}
+
+	private static void appendString(StringBuilder json, String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\')
+				json.append('\\').append(c);
+			else if (c < 0x20)
+				json.append(String.format("\\u%04x", (int) c));
+			else
+				json.append(c);
+		}
+		json.append('"');
+	}
+
+	private static final class Cursor {
+
+		private final String json;
+
+		private int position;
+
+		private boolean failed;
+
+		private Cursor(String json) {
+			this.json = json;
+		}
+
+		private boolean consume(char expected) {
+			skipWhitespace();
+			if (this.position < this.json.length() && this.json.charAt(this.position) == expected) {
+				this.position++;
+				return true;
+			}
+			return false;
+		}
+
+		private boolean atEnd() {
+			skipWhitespace();
+			return this.position == this.json.length();
+		}
+
+		private String readString() {
+			if (!consume('"'))
+				return fail();
+			int start = this.position;
+			StringBuilder escaped = null;
+			while (this.position < this.json.length()) {
+				char c = this.json.charAt(this.position++);
+				if (c == '"')
+					return escaped == null ? this.json.substring(start, this.position - 1) : escaped.toString();
+				if (c != '\\') {
+					if (escaped != null)
+						escaped.append(c);
+					continue;
+				}
+				if (escaped == null)
+					escaped = new StringBuilder(this.json.substring(start, this.position - 1));
+				if (this.position >= this.json.length())
+					return fail();
+				char next = this.json.charAt(this.position++);
+				switch (next) {
+				case '"', '\\', '/' -> escaped.append(next);
+				case 'b' -> escaped.append('\b');
+				case 'f' -> escaped.append('\f');
+				case 'n' -> escaped.append('\n');
+				case 'r' -> escaped.append('\r');
+				case 't' -> escaped.append('\t');
+				case 'u' -> {
+					if (this.position + 4 > this.json.length())
+						return fail();
+					int code = 0;
+					for (int i = 0; i < 4; i++) {
+						int digit = Character.digit(this.json.charAt(this.position++), 16);
+						if (digit < 0)
+							return fail();
+						code = code << 4 | digit;
+					}
+					escaped.append((char) code);
+				}
+				default -> {
+					return fail();
+				}
+				}
+			}
+			return fail();
+		}
+
+		private long readLong() {
+			skipWhitespace();
+			int start = this.position;
+			long value = 0;
+			while (this.position < this.json.length() && Character.isDigit(this.json.charAt(this.position))) {
+				value = value * 10 + (this.json.charAt(this.position++) - '0');
+				if (value < 0) {
+					this.failed = true;
+					return -1;
+				}
+			}
+			if (this.position == start) {
+				this.failed = true;
+				return -1;
+			}
+			return value;
+		}
+
+		private int readAuthorityNames() {
+			if (!consume('['))
+				return failMask();
+			int mask = 0;
+			if (consume(']'))
+				return mask;
+			do {
+				String name = readString();
+				if (name == null)
+					return failMask();
+				int ordinal = -1;
+				for (JwtAuthorities authority : AUTHORITIES) {
+					if (authority.authority.equals(name))
+						ordinal = authority.ordinal();
+				}
+				if (ordinal < 0)
+					return failMask();
+				mask |= 1 << ordinal;
+			} while (consume(','));
+			return consume(']') ? mask : failMask();
+		}
+
+		private void skipValue() {
+			skipWhitespace();
+			if (this.position >= this.json.length()) {
+				this.failed = true;
+				return;
+			}
+			char c = this.json.charAt(this.position);
+			if (c == '"') {
+				readString();
+				return;
+			}
+			int depth = 0;
+			while (this.position < this.json.length()) {
+				c = this.json.charAt(this.position);
+				if (c == '"') {
+					if (readString() == null)
+						return;
+					continue;
+				}
+				if (c == '[' || c == '{')
+					depth++;
+				else if (c == ']' || c == '}') {
+					if (depth == 0)
+						return;
+					depth--;
+				} else if (c == ',' && depth == 0)
+					return;
+				this.position++;
+				if (depth == 0 && (c == ']' || c == '}'))
+					return;
+			}
+		}
+
+		private void skipWhitespace() {
+			while (this.position < this.json.length() && Character.isWhitespace(this.json.charAt(this.position)))
+				this.position++;
+		}
+
+		private String fail() {
+			this.failed = true;
+			return null;
+		}
+
+		private int failMask() {
+			this.failed = true;
+			return -1;
+		}
+
+	}
+
+}
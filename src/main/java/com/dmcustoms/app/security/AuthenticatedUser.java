@@ -0,0 +1,80 @@
+package com.dmcustoms.app.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.dmcustoms.app.data.repositories.PrincipalProjection;
+import com.dmcustoms.app.data.types.Authorities;
+import com.dmcustoms.app.jwt.core.Token;
+
+public record AuthenticatedUser(Long id, String email, String password, int authorities, boolean locked, Token token)
+		implements UserDetails {
+
+	private static final long serialVersionUID = 1L;
+
+	public static AuthenticatedUser of(PrincipalProjection principal) {
+		return new AuthenticatedUser(principal.getId(), principal.getEmail(), null, principal.getAuthorities(),
+				principal.getLocked(), null);
+	}
+
+	public static AuthenticatedUser withCredentials(PrincipalProjection principal) {
+		return new AuthenticatedUser(principal.getId(), principal.getEmail(), principal.getPassword(),
+				principal.getAuthorities(), principal.getLocked(), null);
+	}
+
+	public static int maskOf(Authorities... authorities) {
+		int mask = 0;
+		for (Authorities authority : authorities)
+			mask |= 1 << authority.ordinal();
+		return mask;
+	}
+
+	public AuthenticatedUser withToken(Token token) {
+		return new AuthenticatedUser(this.id, this.email, null, this.authorities, this.locked, token);
+	}
+
+	public AuthenticatedUser withPassword(String password) {
+		return new AuthenticatedUser(this.id, this.email, password, this.authorities, this.locked, this.token);
+	}
+
+	public AuthenticatedUser withAuthorities(int authorities) {
+		return new AuthenticatedUser(this.id, this.email, this.password, authorities, this.locked, this.token);
+	}
+
+	public UUID tokenId() {
+		return this.token == null ? null : this.token.getId();
+	}
+
+	public boolean hasAuthority(Authorities authority) {
+		return (this.authorities & (1 << authority.ordinal())) != 0;
+	}
+
+	@Override
+	public List<Authorities> getAuthorities() {
+		List<Authorities> granted = new ArrayList<Authorities>(Authorities.values().length);
+		for (Authorities authority : Authorities.values()) {
+			if (hasAuthority(authority))
+				granted.add(authority);
+		}
+		return granted;
+	}
+
+	@Override
+	public String getPassword() {
+		return this.password;
+	}
+
+	@Override
+	public String getUsername() {
+		return this.email;
+	}
+
+	@Override
+	public boolean isAccountNonLocked() {
+		return !this.locked;
+	}
+
+}
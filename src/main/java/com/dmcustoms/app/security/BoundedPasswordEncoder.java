@@ -0,0 +1,103 @@
+package com.dmcustoms.app.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+	private final PasswordEncoder passwordEncoder;
+
+	private final ThreadPoolExecutor executor;
+
+	private final Duration timeout;
+
+	private final Timer encodeTimer;
+
+	private final Timer matchesTimer;
+
+	private final Counter rejections;
+
+	public BoundedPasswordEncoder(PasswordEncoder passwordEncoder, int threads, int queueCapacity, Duration timeout,
+			MeterRegistry meterRegistry) {
+		this.passwordEncoder = passwordEncoder;
+		this.timeout = timeout;
+		this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.encodeTimer = meterRegistry.timer("cards.password.hash.duration", "operation", "encode");
+		this.matchesTimer = meterRegistry.timer("cards.password.hash.duration", "operation", "matches");
+		this.rejections = meterRegistry.counter("cards.password.hash.rejected");
+		Gauge.builder("cards.password.hash.queue", this.executor, executor -> executor.getQueue().size())
+				.register(meterRegistry);
+		Gauge.builder("cards.password.hash.active", this.executor, ThreadPoolExecutor::getActiveCount)
+				.register(meterRegistry);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return submit(() -> this.passwordEncoder.encode(rawPassword), this.encodeTimer);
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return submit(() -> this.passwordEncoder.matches(rawPassword, encodedPassword), this.matchesTimer);
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return this.passwordEncoder.upgradeEncoding(encodedPassword);
+	}
+
+	@Override
+	public void close() {
+		this.executor.shutdown();
+	}
+
+	private <T> T submit(Callable<T> task, Timer timer) {
+		Future<T> future;
+		try {
+			future = this.executor.submit(() -> {
+				long start = System.nanoTime();
+				try {
+					return task.call();
+				} finally {
+					timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			this.rejections.increment();
+			throw new PasswordHashingRejectedException("Password hashing queue is full");
+		}
+		try {
+			return future.get(this.timeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			this.rejections.increment();
+			throw new PasswordHashingRejectedException("Password hashing timed out");
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new PasswordHashingRejectedException("Password hashing was interrupted");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException)
+				throw runtimeException;
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+}
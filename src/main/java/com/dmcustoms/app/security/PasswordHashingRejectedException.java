@@ -0,0 +1,13 @@
+package com.dmcustoms.app.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+
+	private static final long serialVersionUID = 1L;
+
+	public PasswordHashingRejectedException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.dmcustoms.app.security;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.dmcustoms.app.jwt.revocation.TokenRevocationChannel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+@Component
+public class PrincipalCache {
+
+	private final Map<String, CachedPrincipal> principals;
+
+	private final TokenRevocationChannel tokenRevocationChannel;
+
+	private final long ttlNanos;
+
+	private long generation;
+
+	private final Counter hits;
+
+	private final Counter misses;
+
+	private final Counter invalidations;
+
+	private final Timer staleness;
+
+	public PrincipalCache(MeterRegistry meterRegistry, TokenRevocationChannel tokenRevocationChannel,
+			@Value("${security.principal-cache.ttl:PT30S}") Duration ttl,
+			@Value("${security.principal-cache.size:10000}") int size) {
+		this.tokenRevocationChannel = tokenRevocationChannel;
+		this.ttlNanos = ttl.toNanos();
+		this.principals = new LinkedHashMap<String, CachedPrincipal>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+				return size() > size;
+			}
+
+		};
+		this.hits = meterRegistry.counter("cards.principal.cache.requests", "result", "hit");
+		this.misses = meterRegistry.counter("cards.principal.cache.requests", "result", "miss");
+		this.invalidations = meterRegistry.counter("cards.principal.cache.invalidations");
+		this.staleness = meterRegistry.timer("cards.principal.cache.staleness");
+		Gauge.builder("cards.principal.cache.size", this, PrincipalCache::size).register(meterRegistry);
+	}
+
+	@PostConstruct
+	public void init() {
+		this.tokenRevocationChannel.subscribePrincipals(this::evict, this::evictAll);
+	}
+
+	public Optional<AuthenticatedUser> get(String email, Function<String, Optional<AuthenticatedUser>> loader) {
+		long now = System.nanoTime();
+		CachedPrincipal cached;
+		long generation;
+		synchronized (this.principals) {
+			cached = this.principals.get(email);
+			generation = this.generation;
+		}
+		if (cached != null && now - cached.loadedAt() < this.ttlNanos) {
+			this.hits.increment();
+			this.staleness.record(now - cached.loadedAt(), TimeUnit.NANOSECONDS);
+			return Optional.of(cached.user());
+		}
+		this.misses.increment();
+		Optional<AuthenticatedUser> user = loader.apply(email);
+		synchronized (this.principals) {
+			if (generation != this.generation)
+				return user;
+			if (user.isPresent())
+				this.principals.put(email, new CachedPrincipal(user.get(), now));
+			else
+				this.principals.remove(email);
+		}
+		return user;
+	}
+
+	public void invalidate(String email) {
+		evict(email);
+		this.tokenRevocationChannel.publishPrincipal(email);
+	}
+
+	public int size() {
+		synchronized (this.principals) {
+			return this.principals.size();
+		}
+	}
+
+	private void evict(String email) {
+		synchronized (this.principals) {
+			this.principals.remove(email);
+			this.generation++;
+		}
+		this.invalidations.increment();
+	}
+
+	private void evictAll() {
+		synchronized (this.principals) {
+			this.principals.clear();
+			this.generation++;
+		}
+	}
+
+	private record CachedPrincipal(AuthenticatedUser user, long loadedAt) {
+	}
+
+}
@@ -1,67 +1,106 @@
 package com.dmcustoms.app.security;
 
 import java.text.ParseException;
+import java.time.Duration;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
 import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 
-import com.dmcustoms.app.data.repositories.DeactivatedTokenRepository;
 import com.dmcustoms.app.data.repositories.UserRepository;
+import com.dmcustoms.app.jwt.core.AccessTokenKeys;
 import com.dmcustoms.app.jwt.core.JwtAuthenticationConfigurer;
+import com.dmcustoms.app.jwt.revocation.TokenRevocationRegistry;
 import com.dmcustoms.app.jwt.serializers.AccessTokenDeserializer;
 import com.dmcustoms.app.jwt.serializers.AccessTokenSerializer;
+import com.dmcustoms.app.jwt.serializers.CachingAccessTokenDeserializer;
 import com.dmcustoms.app.jwt.serializers.RefreshTokenDeserializer;
 import com.dmcustoms.app.jwt.serializers.RefreshTokenSerializer;
+import com.dmcustoms.app.web.filters.RateLimiter;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.crypto.DirectDecrypter;
 import com.nimbusds.jose.crypto.DirectEncrypter;
-import com.nimbusds.jose.crypto.MACSigner;
-import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.OctetSequenceKey;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.databind.ObjectMapper;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfigurer {
 
 	@Bean
-	JwtAuthenticationConfigurer jwtAuthenticationConfigurer(@Value("${jwt.access-token-key}") String accessTokenKey,
+	AccessTokenKeys accessTokenKeys(@Value("${jwt.access-token-keys}") String accessTokenKeys,
+			@Value("${jwt.access-token-key-id}") String accessTokenKeyId) throws JOSEException, ParseException {
+		return new AccessTokenKeys(JWKSet.parse(accessTokenKeys), accessTokenKeyId);
+	}
+
+	@Bean
+	JwtAuthenticationConfigurer jwtAuthenticationConfigurer(AccessTokenKeys accessTokenKeys,
 			@Value("${jwt.refresh-token-key}") String refreshTokenKey,
-			DeactivatedTokenRepository deactivatedTokenRepository, UserRepository userRepository)
-			throws JOSEException, ParseException {
+			@Value("${jwt.access-token-cache-size:10000}") int accessTokenCacheSize,
+			TokenRevocationRegistry tokenRevocationRegistry, UserRepository userRepository,
+			PrincipalCache principalCache, RateLimiter rateLimiter, ObjectMapper objectMapper,
+			MeterRegistry meterRegistry) throws JOSEException, ParseException {
+		CachingAccessTokenDeserializer accessTokenDeserializer = new CachingAccessTokenDeserializer(
+				new AccessTokenDeserializer(accessTokenKeys), accessTokenCacheSize, meterRegistry);
+		tokenRevocationRegistry.addListener(accessTokenDeserializer::evict);
 		return new JwtAuthenticationConfigurer(
 				new RefreshTokenSerializer(new DirectEncrypter(OctetSequenceKey.parse(refreshTokenKey))),
-				new AccessTokenSerializer(new MACSigner(OctetSequenceKey.parse(accessTokenKey))),
+				new AccessTokenSerializer(accessTokenKeys),
 				new RefreshTokenDeserializer(new DirectDecrypter(OctetSequenceKey.parse(refreshTokenKey))),
-				new AccessTokenDeserializer(new MACVerifier(OctetSequenceKey.parse(accessTokenKey))),
-				deactivatedTokenRepository, userRepository);
+				accessTokenDeserializer, tokenRevocationRegistry, userRepository, principalCache, rateLimiter,
+				objectMapper);
 	};
 
 	@Bean
-	PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength,
+			@Value("${security.password-hashing.threads:2}") int threads,
+			@Value("${security.password-hashing.queue-capacity:32}") int queueCapacity,
+			@Value("${security.password-hashing.timeout:PT5S}") Duration timeout, MeterRegistry meterRegistry) {
+		BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder(strength);
+		DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder("bcrypt",
+				Map.of("bcrypt", bCryptPasswordEncoder));
+		delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(bCryptPasswordEncoder);
+		return new BoundedPasswordEncoder(delegatingPasswordEncoder, threads, queueCapacity, timeout, meterRegistry);
 	}
 
 	@Bean
 	UserDetailsService userDetailsService(UserRepository userRepository) {
 		return email -> {
-			return userRepository.findUserByEmail(email).orElseThrow(
+			return userRepository.findPrincipalByEmail(email).map(AuthenticatedUser::withCredentials).orElseThrow(
 					() -> new UsernameNotFoundException("User with Email address " + email + " not found"));
 		};
 	}
 
+	@Bean
+	UserDetailsPasswordService userDetailsPasswordService(UserRepository userRepository) {
+		return (user, newPassword) -> {
+			userRepository.updatePassword(user.getUsername(), newPassword);
+			return ((AuthenticatedUser) user).withPassword(newPassword);
+		};
+	}
+
 	@Bean
 	@Order(1)
 	SecurityFilterChain loginSecurityFilterChain(HttpSecurity http,
@@ -72,7 +111,7 @@ public class SecurityConfigurer {
 				.securityMatcher(PathPatternRequestMatcher.pathPattern(HttpMethod.POST, "/api/auth/**"))
 				.authorizeHttpRequests(authorizeHttpRequests -> {
 					authorizeHttpRequests.requestMatchers(HttpMethod.POST, "/api/auth/**").authenticated();
-				}).httpBasic(Customizer.withDefaults()).build();
+				}).httpBasic(httpBasic -> httpBasic.authenticationEntryPoint(loginEntryPoint())).build();
 	}
 
 	@Bean
@@ -83,10 +122,24 @@ public class SecurityConfigurer {
 				.sessionManagement(
 						sessionManagement -> sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 				.authorizeHttpRequests(authorizeHttpRequests -> {
-					authorizeHttpRequests.requestMatchers("/api/user/**").hasRole("USER")
+					authorizeHttpRequests.requestMatchers(HttpMethod.GET, "/api/auth/jwks").permitAll()
+							.requestMatchers("/api/user/**").hasRole("USER")
 							.requestMatchers("/api/admin/**").hasRole("ADMIN")
 							.requestMatchers(HttpMethod.GET, "/error").permitAll().anyRequest().denyAll();
 				}).build();
 	}
 
+	private AuthenticationEntryPoint loginEntryPoint() {
+		BasicAuthenticationEntryPoint basicAuthenticationEntryPoint = new BasicAuthenticationEntryPoint();
+		basicAuthenticationEntryPoint.setRealmName("Realm");
+		return (request, response, exception) -> {
+			if (exception instanceof PasswordHashingRejectedException) {
+				response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+				response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, exception.getMessage());
+			} else {
+				basicAuthenticationEntryPoint.commence(request, response, exception);
+			}
+		};
+	}
+
 }
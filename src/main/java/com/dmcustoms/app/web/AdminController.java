@@ -2,15 +2,21 @@ package com.dmcustoms.app.web;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -24,23 +30,28 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.dmcustoms.app.data.dto.AddCardToUserDTO;
 import com.dmcustoms.app.data.dto.CardCreateDTO;
 import com.dmcustoms.app.data.dto.CardShowDTO;
 import com.dmcustoms.app.data.dto.ResponseErrorDTO;
 import com.dmcustoms.app.data.dto.SetLimitsDTO;
+import com.dmcustoms.app.data.dto.SliceDTO;
 import com.dmcustoms.app.data.dto.TransactionDTO;
 import com.dmcustoms.app.data.dto.UserCreateDTO;
 import com.dmcustoms.app.data.dto.UserShowDTO;
 import com.dmcustoms.app.data.entities.Card;
-import com.dmcustoms.app.data.entities.Transaction;
 import com.dmcustoms.app.data.entities.User;
 import com.dmcustoms.app.data.repositories.CardRepository;
+import com.dmcustoms.app.data.repositories.CardView;
 import com.dmcustoms.app.data.repositories.TransactionRepository;
+import com.dmcustoms.app.data.repositories.TransactionView;
 import com.dmcustoms.app.data.repositories.UserRepository;
 import com.dmcustoms.app.data.types.Authorities;
 import com.dmcustoms.app.data.types.CardStatus;
+import com.dmcustoms.app.jwt.revocation.TokenRevocationRegistry;
+import com.dmcustoms.app.security.PrincipalCache;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -60,6 +71,12 @@ public class AdminController {
 
 	private TransactionRepository transactionRepository;
 
+	private PrincipalCache principalCache;
+
+	private TokenRevocationRegistry tokenRevocationRegistry;
+
+	private TransactionExporter transactionExporter;
+
 	@PostMapping("/cards/create")
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<?> createCard(@RequestBody @Valid CardCreateDTO cardCreateDTO, Errors errors) {
@@ -113,14 +130,10 @@ public class AdminController {
 	@GetMapping("/cards/block-requests")
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<?> getCardsWithBlockRequests() {
-		List<Card> cardsWithBlockRequest = cardRepository.findCardsByIsBlockRequest(true);
+		List<CardView> cardsWithBlockRequest = cardRepository.findBlockRequestedCardViews();
 		if (!cardsWithBlockRequest.isEmpty()) {
-			List<CardShowDTO> cardsToResponse = new ArrayList<CardShowDTO>();
-			for (Card card : cardsWithBlockRequest) {
-				cardsToResponse.add(new CardShowDTO(card.getCardNumber(), card.getExpiredAt(), card.getStatus(),
-						card.getBalance(), card.getLimitPerDay(), card.getLimitPerMonth(), card.getOwner().getEmail()));
-			}
-			return ResponseEntity.status(HttpStatus.OK).body(cardsToResponse);
+			return ResponseEntity.status(HttpStatus.OK)
+					.body(cardsWithBlockRequest.stream().map(CardView::toCardShowDTO).toList());
 		} else {
 			return ResponseEntity.status(HttpStatus.NO_CONTENT).body(null);
 		}
@@ -137,12 +150,8 @@ public class AdminController {
 		Optional<Card> optionalCard = cardRepository.findCardByCardNumber(setLimitsDTO.getCardNumber());
 		if (optionalCard.isPresent()) {
 			Card card = optionalCard.get();
-			double limitPerDay = setLimitsDTO.getLimitPerDay();
-			double limitPerMonth = setLimitsDTO.getLimitPerMonth();
-			limitPerDay = Math.round(limitPerDay * 100.0) / 100.0;
-			limitPerMonth = Math.round(limitPerMonth * 100.0) / 100.0;
-			card.setLimitPerDay(limitPerDay);
-			card.setLimitPerMonth(limitPerMonth);
+			card.setLimitPerDay(setLimitsDTO.getLimitPerDay());
+			card.setLimitPerMonth(setLimitsDTO.getLimitPerMonth());
 			cardRepository.save(card);
 			return ResponseEntity.status(HttpStatus.OK).body(null);
 		} else {
@@ -169,16 +178,20 @@ public class AdminController {
 	public ResponseEntity<?> getAllCards(@RequestParam Map<String, String> params) {
 		String page = params.get("page");
 		String size = params.get("size");
+		String cursor = params.get("cursor");
+		KeysetCursor keysetCursor = cursor == null ? KeysetCursor.first() : KeysetCursor.decode(cursor, false);
 		if (page != null && size != null) {
 			PageRequest pageRequest = PageRequest.of(Integer.valueOf(page), Integer.valueOf(size));
-			List<Card> cardsPage = cardRepository.findAll(pageRequest).getContent();
-			List<CardShowDTO> cardsToResponse = new ArrayList<CardShowDTO>();
-			for (Card card : cardsPage) {
-				cardsToResponse.add(new CardShowDTO(card.getCardNumber(), card.getExpiredAt(), card.getStatus(),
-						card.getBalance(), card.getLimitPerDay(), card.getLimitPerMonth(),
-						card.getOwner() == null ? null : card.getOwner().getEmail()));
-			}
-			return ResponseEntity.status(HttpStatus.OK).body(cardsToResponse);
+			return ResponseEntity.status(HttpStatus.OK)
+					.body(cardRepository.findCardViews(pageRequest).map(CardView::toCardShowDTO).getContent());
+		} else if (size != null && keysetCursor != null) {
+			Slice<CardView> cardsSlice = cardRepository.findCardViewsAfter(keysetCursor.id(),
+					PageRequest.ofSize(Integer.valueOf(size)));
+			String next = cardsSlice.hasNext()
+					? new KeysetCursor(null, cardsSlice.getContent().getLast().id()).encode()
+					: null;
+			return ResponseEntity.status(HttpStatus.OK)
+					.body(new SliceDTO<CardShowDTO>(cardsSlice.map(CardView::toCardShowDTO).getContent(), next));
 		} else {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
 					.body(new ResponseErrorDTO("Query parameters are invalid"));
@@ -192,13 +205,8 @@ public class AdminController {
 		if (user.isEmpty())
 			return ResponseEntity.status(HttpStatus.NOT_FOUND)
 					.body(new ResponseErrorDTO("User with Email " + email + " not found"));
-		List<Card> findedCardsByOwner = cardRepository.findCardsByOwner(user.get());
-		List<CardShowDTO> cardsToResponse = new ArrayList<CardShowDTO>();
-		for (Card card : findedCardsByOwner) {
-			cardsToResponse.add(new CardShowDTO(card.getCardNumber(), card.getExpiredAt(), card.getStatus(),
-					card.getBalance(), card.getLimitPerDay(), card.getLimitPerMonth(), card.getOwner().getEmail()));
-		}
-		return ResponseEntity.status(HttpStatus.OK).body(cardsToResponse);
+		return ResponseEntity.status(HttpStatus.OK).body(cardRepository.findCardViewsByOwnerId(user.get().getId())
+				.stream().map(CardView::toCardShowDTO).toList());
 	}
 
 	@GetMapping("/transactions")
@@ -206,22 +214,69 @@ public class AdminController {
 	public ResponseEntity<?> getAllTransactions(@RequestParam Map<String, String> params) {
 		String page = params.get("page");
 		String size = params.get("size");
+		String cursor = params.get("cursor");
+		KeysetCursor keysetCursor = cursor == null ? KeysetCursor.first() : KeysetCursor.decode(cursor, true);
 		if (page != null && size != null) {
 			PageRequest pageRequest = PageRequest.of(Integer.valueOf(page), Integer.valueOf(size));
-			List<Transaction> transactionsPage = transactionRepository.findAll(pageRequest).getContent();
-			List<TransactionDTO> transactionsToResponse = new ArrayList<TransactionDTO>();
-			for (Transaction transaction : transactionsPage) {
-				transactionsToResponse.add(new TransactionDTO(transaction.getSource().getCardNumber(),
-						transaction.getRecipient() == null ? null : transaction.getRecipient().getCardNumber(),
-						transaction.getType(), transaction.getDate(), transaction.getValue()));
+			return ResponseEntity.status(HttpStatus.OK)
+					.body(transactionRepository.findTransactionViews(pageRequest)
+							.map(TransactionView::toTransactionDTO).getContent());
+		} else if (size != null && keysetCursor != null) {
+			PageRequest pageRequest = PageRequest.ofSize(Integer.valueOf(size));
+			Slice<TransactionView> transactionsSlice = keysetCursor.date() == null
+					? transactionRepository.findLatestTransactionViews(pageRequest)
+					: transactionRepository.findTransactionViewsBefore(keysetCursor.date(), keysetCursor.id(),
+							pageRequest);
+			String next = null;
+			if (transactionsSlice.hasNext()) {
+				TransactionView last = transactionsSlice.getContent().getLast();
+				next = new KeysetCursor(last.date(), last.id()).encode();
 			}
-			return ResponseEntity.status(HttpStatus.OK).body(transactionsToResponse);
+			return ResponseEntity.status(HttpStatus.OK).body(new SliceDTO<TransactionDTO>(
+					transactionsSlice.map(TransactionView::toTransactionDTO).getContent(), next));
 		} else {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
 					.body(new ResponseErrorDTO("Query parameters are invalid"));
 		}
 	}
 
+	@GetMapping(path = "/transactions/export", produces = { MediaType.APPLICATION_NDJSON_VALUE,
+			MediaType.APPLICATION_JSON_VALUE })
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<?> exportTransactions(@RequestParam Map<String, String> params) {
+		String date = params.get("date");
+		String cardNumber = params.get("cardNumber");
+		if (date == null && cardNumber == null)
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON)
+					.body(new ResponseErrorDTO("Query parameters are invalid"));
+		Instant from = null;
+		if (date != null) {
+			try {
+				from = LocalDate.parse(date).atStartOfDay(ZoneOffset.UTC).toInstant();
+			} catch (DateTimeParseException e) {
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON)
+						.body(new ResponseErrorDTO("Date " + date + " is invalid"));
+			}
+		}
+		Card source = null;
+		if (cardNumber != null) {
+			Optional<Card> optionalCard = cardRepository.findCardByCardNumber(cardNumber);
+			if (optionalCard.isEmpty())
+				return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+						.body(new ResponseErrorDTO("Card with card number " + cardNumber + " not found"));
+			source = optionalCard.get();
+		}
+		Card card = source;
+		Instant start = from;
+		Instant end = from == null ? null : from.plus(Duration.ofDays(1));
+		Function<TransactionRepository, Stream<TransactionView>> query = card == null
+				? repository -> repository.streamTransactionViewsBetween(start, end)
+				: start == null ? repository -> repository.streamTransactionViewsBySource(card)
+						: repository -> repository.streamTransactionViewsBySourceBetween(card, start, end);
+		StreamingResponseBody body = outputStream -> transactionExporter.export(query, outputStream);
+		return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
 	@PostMapping("/users/create")
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<?> createUser(@RequestBody @Valid UserCreateDTO userCreateDTO, Errors errors) {
@@ -247,15 +302,20 @@ public class AdminController {
 	public ResponseEntity<?> getAllUsers(@RequestParam Map<String, String> params) {
 		String page = params.get("page");
 		String size = params.get("size");
+		String cursor = params.get("cursor");
+		KeysetCursor keysetCursor = cursor == null ? KeysetCursor.first() : KeysetCursor.decode(cursor, false);
 		if (page != null && size != null) {
 			PageRequest pageRequest = PageRequest.of(Integer.valueOf(page), Integer.valueOf(size));
-			List<User> userPage = userRepository.findAll(pageRequest).getContent();
-			List<UserShowDTO> usersToResponse = new ArrayList<UserShowDTO>();
-			for (User user : userPage) {
-				usersToResponse.add(new UserShowDTO(user.getSurname(), user.getName(), user.getLastname(),
-						user.getEmail(), user.getIsAccountNonLocked()));
-			}
-			return ResponseEntity.status(HttpStatus.OK).body(usersToResponse);
+			return ResponseEntity.status(HttpStatus.OK)
+					.body(userRepository.findUsersBy(pageRequest).map(this::toUserShowDTO).getContent());
+		} else if (size != null && keysetCursor != null) {
+			Slice<User> usersSlice = userRepository.findUsersByIdGreaterThanOrderByIdAsc(keysetCursor.id(),
+					PageRequest.ofSize(Integer.valueOf(size)));
+			String next = usersSlice.hasNext()
+					? new KeysetCursor(null, usersSlice.getContent().getLast().getId()).encode()
+					: null;
+			return ResponseEntity.status(HttpStatus.OK)
+					.body(new SliceDTO<UserShowDTO>(usersSlice.map(this::toUserShowDTO).getContent(), next));
 		} else {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
 					.body(new ResponseErrorDTO("Query parameters are invalid"));
@@ -301,6 +361,8 @@ public class AdminController {
 			}
 			user.setIsAccountNonLocked(false);
 			userRepository.save(user);
+			tokenRevocationRegistry.revokeAll(email);
+			principalCache.invalidate(email);
 			return ResponseEntity.status(HttpStatus.OK).body(null);
 		} else {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -320,6 +382,7 @@ public class AdminController {
 			}
 			user.setIsAccountNonLocked(true);
 			userRepository.save(user);
+			principalCache.invalidate(email);
 			return ResponseEntity.status(HttpStatus.OK).body(null);
 		} else {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -337,7 +400,9 @@ public class AdminController {
 				return ResponseEntity.status(HttpStatus.BAD_REQUEST)
 						.body(new ResponseErrorDTO("An administrator cannot delete himself"));
 			}
+			tokenRevocationRegistry.revokeAll(email);
 			userRepository.delete(user);
+			principalCache.invalidate(email);
 			return ResponseEntity.status(HttpStatus.NO_CONTENT).body(null);
 		} else {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -345,4 +410,9 @@ public class AdminController {
 		}
 	}
 
+	private UserShowDTO toUserShowDTO(User user) {
+		return new UserShowDTO(user.getSurname(), user.getName(), user.getLastname(), user.getEmail(),
+				user.getIsAccountNonLocked());
+	}
+
 }
@@ -0,0 +1,43 @@
+package com.dmcustoms.app.web;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.dmcustoms.app.jwt.core.AccessTokenKeys;
+
+import lombok.Data;
+
+@Data
+@RestController
+@RequestMapping(path = "/api/auth", produces = "application/json")
+public class JwksController {
+
+	private final String jwkSet;
+
+	private final String eTag;
+
+	private final CacheControl cacheControl;
+
+	public JwksController(AccessTokenKeys accessTokenKeys, @Value("${jwt.jwks-max-age:PT5M}") Duration maxAge) {
+		this.jwkSet = accessTokenKeys.getPublicJwkSet();
+		this.eTag = "\"" + Integer.toHexString(this.jwkSet.hashCode()) + "\"";
+		this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+	}
+
+	@GetMapping("/jwks")
+	public ResponseEntity<String> getJwks(WebRequest webRequest) {
+		if (webRequest.checkNotModified(this.eTag))
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(this.cacheControl).eTag(this.eTag)
+					.build();
+		return ResponseEntity.status(HttpStatus.OK).cacheControl(this.cacheControl).eTag(this.eTag).body(this.jwkSet);
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.dmcustoms.app.web;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+public record KeysetCursor(Instant date, long id) {
+
+	public static KeysetCursor first() {
+		return new KeysetCursor(null, 0);
+	}
+
+	public static KeysetCursor decode(String cursor, boolean dated) {
+		try {
+			String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split("\\.");
+			if (dated && parts.length == 3)
+				return new KeysetCursor(Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+						Long.parseLong(parts[2]));
+			if (!dated && parts.length == 1)
+				return new KeysetCursor(null, Long.parseLong(parts[0]));
+		} catch (IllegalArgumentException | ArithmeticException | DateTimeException e) {
+			return null;
+		}
+		return null;
+	}
+
+	public String encode() {
+		String value = this.date == null ? Long.toString(this.id)
+				: this.date.getEpochSecond() + "." + this.date.getNano() + "." + this.id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.dmcustoms.app.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dmcustoms.app.data.dto.TransactionDTO;
+import com.dmcustoms.app.data.repositories.TransactionRepository;
+import com.dmcustoms.app.data.repositories.TransactionView;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+@Component
+public class TransactionExporter {
+
+	private static final int FLUSH_ROWS = 500;
+
+	private final TransactionRepository transactionRepository;
+
+	private final ObjectWriter transactionWriter;
+
+	public TransactionExporter(TransactionRepository transactionRepository, ObjectMapper objectMapper) {
+		this.transactionRepository = transactionRepository;
+		this.transactionWriter = objectMapper.writerFor(TransactionDTO.class);
+	}
+
+	@Transactional(readOnly = true)
+	public void export(Function<TransactionRepository, Stream<TransactionView>> query, OutputStream outputStream)
+			throws IOException {
+		try (Stream<TransactionView> transactions = query.apply(this.transactionRepository)) {
+			long rows = 0;
+			for (Iterator<TransactionView> iterator = transactions.iterator(); iterator.hasNext();) {
+				outputStream.write(this.transactionWriter.writeValueAsBytes(iterator.next().toTransactionDTO()));
+				outputStream.write('\n');
+				if (rows++ % FLUSH_ROWS == 0)
+					outputStream.flush();
+			}
+			outputStream.flush();
+		}
+	}
+
+}
@@ -2,18 +2,24 @@ package com.dmcustoms.app.web;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -23,19 +29,25 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.dmcustoms.app.data.dto.CardShowDTO;
+import com.dmcustoms.app.data.dto.BatchTransferDTO;
 import com.dmcustoms.app.data.dto.ResponseErrorDTO;
+import com.dmcustoms.app.data.dto.SliceDTO;
 import com.dmcustoms.app.data.dto.TransactionDTO;
 import com.dmcustoms.app.data.dto.TransferDTO;
+import com.dmcustoms.app.data.dto.TransferResultDTO;
 import com.dmcustoms.app.data.dto.WriteOffDTO;
 import com.dmcustoms.app.data.entities.Card;
 import com.dmcustoms.app.data.entities.Transaction;
-import com.dmcustoms.app.data.entities.User;
 import com.dmcustoms.app.data.repositories.CardRepository;
+import com.dmcustoms.app.data.repositories.CardView;
+import com.dmcustoms.app.data.repositories.SpendCounterRepository;
 import com.dmcustoms.app.data.repositories.TransactionRepository;
+import com.dmcustoms.app.data.repositories.TransactionView;
 import com.dmcustoms.app.data.types.CardStatus;
 import com.dmcustoms.app.data.types.TransactionType;
+import com.dmcustoms.app.security.AuthenticatedUser;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -51,33 +63,34 @@ public class UserController {
 
 	private TransactionRepository transactionRepository;
 
+	private SpendCounterRepository spendCounterRepository;
+
+	private TransactionExporter transactionExporter;
+
 	@GetMapping("/cards")
 	@PreAuthorize("hasRole('USER')")
-	public ResponseEntity<?> showUserCards(@AuthenticationPrincipal User user) {
-		List<Card> userCardsFromDB = cardRepository.findCardsByOwner(user);
+	public ResponseEntity<?> showUserCards(@AuthenticationPrincipal AuthenticatedUser user) {
+		List<CardView> userCardsFromDB = cardRepository.findCardViewsByOwnerId(user.id());
 		if (userCardsFromDB.isEmpty())
 			return ResponseEntity.status(HttpStatus.NO_CONTENT).body(null);
-		List<CardShowDTO> userCardsToResponse = new ArrayList<CardShowDTO>();
-		for (Card card : userCardsFromDB) {
-			userCardsToResponse.add(new CardShowDTO(card.getCardNumber(), card.getExpiredAt(), card.getStatus(),
-					card.getBalance(), card.getLimitPerDay(), card.getLimitPerMonth(), card.getOwner().getEmail()));
-		}
-		return ResponseEntity.status(HttpStatus.OK).body(userCardsToResponse);
+		return ResponseEntity.status(HttpStatus.OK)
+				.body(userCardsFromDB.stream().map(CardView::toCardShowDTO).toList());
 	}
 
 	@PatchMapping("/block/{cardNumber}")
 	@PreAuthorize("hasRole('USER')")
-	public ResponseEntity<?> requestBlockCard(@PathVariable String cardNumber, @AuthenticationPrincipal User user) {
+	public ResponseEntity<?> requestBlockCard(@PathVariable String cardNumber,
+			@AuthenticationPrincipal AuthenticatedUser user) {
 		Optional<Card> optionalCard = cardRepository.findCardByCardNumber(cardNumber);
 		if (optionalCard.isPresent()) {
 			Card card = optionalCard.get();
-			if (card.getOwner().getEmail().equals(user.getEmail())) {
+			if (isOwner(card, user)) {
 				card.setIsBlockRequest(true);
 				cardRepository.save(card);
 				return ResponseEntity.status(HttpStatus.OK).body(null);
 			} else {
 				return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ResponseErrorDTO(
-						"User with email " + user.getEmail() + " is not owner of the card " + cardNumber));
+						"User with email " + user.email() + " is not owner of the card " + cardNumber));
 			}
 		} else {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -87,7 +100,7 @@ public class UserController {
 
 	@GetMapping("/transactions/{cardNumber}")
 	@PreAuthorize("hasRole('USER')")
-	public ResponseEntity<?> getTransactions(@AuthenticationPrincipal User user,
+	public ResponseEntity<?> getTransactions(@AuthenticationPrincipal AuthenticatedUser user,
 			@RequestParam Map<String, String> params, @PathVariable String cardNumber) {
 		Optional<Card> optionalCard = cardRepository.findCardByCardNumber(cardNumber);
 		if (optionalCard.isEmpty()) {
@@ -95,34 +108,64 @@ public class UserController {
 					.body(new ResponseErrorDTO("Card with card number " + cardNumber + " is not found"));
 		}
 		Card card = optionalCard.get();
-		if (!card.getOwner().getEmail().equals(user.getEmail())) {
+		if (!isOwner(card, user)) {
 			return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ResponseErrorDTO(
-					"User with email " + user.getEmail() + " is not owner of the card " + cardNumber));
+					"User with email " + user.email() + " is not owner of the card " + cardNumber));
 		}
 		String page = params.get("page");
 		String size = params.get("size");
+		String cursor = params.get("cursor");
+		KeysetCursor keysetCursor = cursor == null ? KeysetCursor.first() : KeysetCursor.decode(cursor, true);
 		if (page != null && size != null) {
 			PageRequest pageRequest = PageRequest.of(Integer.valueOf(page), Integer.valueOf(size));
-			List<Transaction> transactionsPage = transactionRepository.findTransactionsBySource(card, pageRequest)
-					.getContent();
-			List<TransactionDTO> transactionsToResponse = new ArrayList<TransactionDTO>();
-			for (Transaction transaction : transactionsPage) {
-				transactionsToResponse.add(new TransactionDTO(transaction.getSource().getCardNumber(),
-						transaction.getRecipient() == null ? null : transaction.getRecipient().getCardNumber(),
-						transaction.getType(), transaction.getDate(), transaction.getValue()));
+			return ResponseEntity.status(HttpStatus.OK).body(transactionRepository
+					.findTransactionViewsBySource(card, pageRequest).map(TransactionView::toTransactionDTO)
+					.getContent());
+		} else if (size != null && keysetCursor != null) {
+			PageRequest pageRequest = PageRequest.ofSize(Integer.valueOf(size));
+			Slice<TransactionView> transactionsSlice = keysetCursor.date() == null
+					? transactionRepository.findLatestTransactionViewsBySource(card, pageRequest)
+					: transactionRepository.findTransactionViewsBySourceBefore(card, keysetCursor.date(),
+							keysetCursor.id(), pageRequest);
+			String next = null;
+			if (transactionsSlice.hasNext()) {
+				TransactionView last = transactionsSlice.getContent().getLast();
+				next = new KeysetCursor(last.date(), last.id()).encode();
 			}
-			return ResponseEntity.status(HttpStatus.OK).body(transactionsToResponse);
+			return ResponseEntity.status(HttpStatus.OK).body(new SliceDTO<TransactionDTO>(
+					transactionsSlice.map(TransactionView::toTransactionDTO).getContent(), next));
 		} else {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
 					.body(new ResponseErrorDTO("Query parameters are invalid"));
 		}
 	}
 
+	@GetMapping(path = "/transactions/{cardNumber}/export", produces = { MediaType.APPLICATION_NDJSON_VALUE,
+			MediaType.APPLICATION_JSON_VALUE })
+	@PreAuthorize("hasRole('USER')")
+	public ResponseEntity<?> exportTransactions(@AuthenticationPrincipal AuthenticatedUser user,
+			@PathVariable String cardNumber) {
+		Optional<Card> optionalCard = cardRepository.findCardByCardNumber(cardNumber);
+		if (optionalCard.isEmpty()) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+					.body(new ResponseErrorDTO("Card with card number " + cardNumber + " is not found"));
+		}
+		Card card = optionalCard.get();
+		if (!isOwner(card, user)) {
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.APPLICATION_JSON)
+					.body(new ResponseErrorDTO(
+							"User with email " + user.email() + " is not owner of the card " + cardNumber));
+		}
+		StreamingResponseBody body = outputStream -> transactionExporter
+				.export(repository -> repository.streamTransactionViewsBySource(card), outputStream);
+		return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
 	@PostMapping("/transfer")
 	@PreAuthorize("hasRole('USER')")
 	@Transactional
 	public ResponseEntity<?> transfer(@RequestBody @Valid TransferDTO transferDTO, Errors errors,
-			@AuthenticationPrincipal User user) {
+			@AuthenticationPrincipal AuthenticatedUser user) {
 		if (errors.hasErrors()) {
 			List<ResponseErrorDTO> messages = errors.getFieldErrors().stream()
 					.map(fieldError -> new ResponseErrorDTO(fieldError.getDefaultMessage())).toList();
@@ -130,7 +173,7 @@ public class UserController {
 		}
 		String cardSourceNumber = transferDTO.getCardSourceNumber();
 		String cardRecipientNumber = transferDTO.getCardRecipientNumber();
-		Double transferValue = transferDTO.getValue();
+		long transferValue = transferDTO.getValue();
 		Optional<Card> cardSourceOptional = cardRepository.findCardByCardNumber(cardSourceNumber);
 		Optional<Card> cardRecipientOptional = cardRepository.findCardByCardNumber(cardRecipientNumber);
 		if (cardSourceOptional.isEmpty())
@@ -149,37 +192,111 @@ public class UserController {
 			return ResponseEntity.status(HttpStatus.FORBIDDEN)
 					.body(new ResponseErrorDTO("Card " + cardRecipientNumber + " is blocked"));
 		}
-		if (!cardSource.getOwner().getEmail().equals(user.getEmail()))
+		if (!isOwner(cardSource, user))
 			return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ResponseErrorDTO(
-					"User with email " + user.getEmail() + " is not owner of the card " + cardSourceNumber));
-		if (!cardRecipient.getOwner().getEmail().equals(user.getEmail()))
+					"User with email " + user.email() + " is not owner of the card " + cardSourceNumber));
+		if (!isOwner(cardRecipient, user))
 			return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ResponseErrorDTO(
-					"User with email " + user.getEmail() + " is not owner of the card " + cardRecipientNumber));
+					"User with email " + user.email() + " is not owner of the card " + cardRecipientNumber));
 		if (cardSource.getBalance() < transferValue)
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
 					.body(new ResponseErrorDTO("Insufficient funds on the card"));
-		cardSource.setBalance(Math.round((cardSource.getBalance() - transferValue) * 100.0) / 100.0);
-		cardRecipient.setBalance(Math.round((cardRecipient.getBalance() + transferValue) * 100.0) / 100.0);
-		cardRepository.save(cardSource);
-		cardRepository.save(cardRecipient);
+		if (!cardRepository.transfer(cardSource, cardRecipient, transferValue)) {
+			TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+					.body(new ResponseErrorDTO("Insufficient funds on the card"));
+		}
 		Transaction transaction = new Transaction(cardSource, cardRecipient, TransactionType.TRANSFER, Instant.now(),
 				transferValue);
 		transactionRepository.save(transaction);
+		spendCounterRepository.registerSpending(cardSource, transaction.getDate(), transferValue);
 		return ResponseEntity.status(HttpStatus.OK).body(null);
 	}
 
+	@PostMapping("/transfers/batch")
+	@PreAuthorize("hasRole('USER')")
+	@Transactional
+	public ResponseEntity<?> transferBatch(@RequestBody @Valid BatchTransferDTO batchTransferDTO, Errors errors,
+			@AuthenticationPrincipal AuthenticatedUser user) {
+		if (errors.hasErrors()) {
+			List<ResponseErrorDTO> messages = errors.getFieldErrors().stream()
+					.map(fieldError -> new ResponseErrorDTO(fieldError.getDefaultMessage())).toList();
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(messages);
+		}
+		List<TransferDTO> transfers = batchTransferDTO.getTransfers();
+		Set<String> cardNumbers = new HashSet<String>();
+		for (TransferDTO transferDTO : transfers) {
+			cardNumbers.add(transferDTO.getCardSourceNumber());
+			cardNumbers.add(transferDTO.getCardRecipientNumber());
+		}
+		Map<String, Card> cards = new HashMap<String, Card>();
+		for (Card card : cardRepository.lockCardsByCardNumbers(user.id(), cardNumbers)) {
+			cards.put(card.getCardNumber(), card);
+		}
+		if (cards.size() < cardNumbers.size()) {
+			Set<String> foreignCardNumbers = new HashSet<String>(cardNumbers);
+			foreignCardNumbers.removeAll(cards.keySet());
+			for (Card card : cardRepository.findCardsByCardNumbers(foreignCardNumbers)) {
+				cards.put(card.getCardNumber(), card);
+			}
+		}
+		Instant now = Instant.now();
+		List<TransferResultDTO> results = new ArrayList<TransferResultDTO>(transfers.size());
+		List<Transaction> transactions = new ArrayList<Transaction>();
+		Map<Card, Long> spentByCard = new IdentityHashMap<Card, Long>();
+		for (int i = 0; i < transfers.size(); i++) {
+			TransferDTO transferDTO = transfers.get(i);
+			String cardSourceNumber = transferDTO.getCardSourceNumber();
+			String cardRecipientNumber = transferDTO.getCardRecipientNumber();
+			long transferValue = transferDTO.getValue();
+			Card cardSource = cards.get(cardSourceNumber);
+			Card cardRecipient = cards.get(cardRecipientNumber);
+			if (cardSource == null) {
+				results.add(new TransferResultDTO(i, HttpStatus.NOT_FOUND.value(),
+						"Card with card number " + cardSourceNumber + " is not found"));
+			} else if (cardRecipient == null) {
+				results.add(new TransferResultDTO(i, HttpStatus.NOT_FOUND.value(),
+						"Card with card number " + cardRecipientNumber + " is not found"));
+			} else if (!cardSource.getStatus().equals(CardStatus.ACTIVE)) {
+				results.add(new TransferResultDTO(i, HttpStatus.FORBIDDEN.value(),
+						"Card " + cardSourceNumber + " is " + cardSource.getStatus().status.toLowerCase()));
+			} else if (!cardRecipient.getStatus().equals(CardStatus.ACTIVE)) {
+				results.add(new TransferResultDTO(i, HttpStatus.FORBIDDEN.value(),
+						"Card " + cardRecipientNumber + " is " + cardRecipient.getStatus().status.toLowerCase()));
+			} else if (!isOwner(cardSource, user)) {
+				results.add(new TransferResultDTO(i, HttpStatus.FORBIDDEN.value(),
+						"User with email " + user.email() + " is not owner of the card " + cardSourceNumber));
+			} else if (!isOwner(cardRecipient, user)) {
+				results.add(new TransferResultDTO(i, HttpStatus.FORBIDDEN.value(),
+						"User with email " + user.email() + " is not owner of the card " + cardRecipientNumber));
+			} else if (cardSource.getBalance() < transferValue) {
+				results.add(new TransferResultDTO(i, HttpStatus.BAD_REQUEST.value(), "Insufficient funds on the card"));
+			} else {
+				cardSource.setBalance(cardSource.getBalance() - transferValue);
+				cardRecipient.setBalance(cardRecipient.getBalance() + transferValue);
+				transactions.add(
+						new Transaction(cardSource, cardRecipient, TransactionType.TRANSFER, now, transferValue));
+				spentByCard.merge(cardSource, transferValue, Long::sum);
+				results.add(new TransferResultDTO(i, HttpStatus.OK.value(), null));
+			}
+		}
+		transactionRepository.saveAll(transactions);
+		spentByCard.forEach((card, spent) -> spendCounterRepository.registerSpending(card, now, spent));
+		return ResponseEntity.status(HttpStatus.OK).body(results);
+	}
+
 	@PostMapping("/writeoff")
 	@PreAuthorize("hasRole('USER')")
 	@Transactional
 	public ResponseEntity<?> writeOff(@RequestBody @Valid WriteOffDTO writeOffDTO, Errors errors,
-			@AuthenticationPrincipal User user) {
+			@AuthenticationPrincipal AuthenticatedUser user) {
 		if (errors.hasErrors()) {
 			List<ResponseErrorDTO> messages = errors.getFieldErrors().stream()
 					.map(fieldError -> new ResponseErrorDTO(fieldError.getDefaultMessage())).toList();
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(messages);
 		}
 		String cardNumber = writeOffDTO.getCardNumber();
-		Double writeOffValue = writeOffDTO.getValue();
+		long writeOffValue = writeOffDTO.getValue();
 		Optional<Card> cardOptional = cardRepository.findCardByCardNumber(cardNumber);
 		if (cardOptional.isEmpty())
 			return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -189,33 +306,34 @@ public class UserController {
 			return ResponseEntity.status(HttpStatus.FORBIDDEN)
 					.body(new ResponseErrorDTO("Card " + cardNumber + " is blocked"));
 		}
-		if (!card.getOwner().getEmail().equals(user.getEmail()))
+		if (!isOwner(card, user))
 			return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ResponseErrorDTO(
-					"User with email " + user.getEmail() + " is not owner of the card " + cardNumber));
+					"User with email " + user.email() + " is not owner of the card " + cardNumber));
+		cardRepository.lockCardById(card.getId());
 		if (card.getBalance() < writeOffValue)
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
 					.body(new ResponseErrorDTO("Insufficient funds on the card"));
-		LocalDate now = LocalDate.now();
-		Double sumOfOperationsOnThisDay = transactionRepository.findTransactionsBySource(card).stream()
-				.filter(transaction -> LocalDate.ofInstant(transaction.getDate(), ZoneId.systemDefault()).equals(now))
-				.mapToDouble(Transaction::getValue).sum();
-		if (sumOfOperationsOnThisDay + writeOffValue > card.getLimitPerDay()) {
+		Instant now = Instant.now();
+		LocalDate today = LocalDate.ofInstant(now, SpendCounterRepository.ZONE);
+		if (spendCounterRepository.getSpentOnDay(card, today) + writeOffValue > card.getLimitPerDay()) {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
 					.body(new ResponseErrorDTO("The user has exceeded the daily transaction limit."));
 		}
-		Double sumOfOperationsOnThisMonth = transactionRepository
-				.findTransactionsBySource(card).stream().filter(transaction -> LocalDate
-						.ofInstant(transaction.getDate(), ZoneId.systemDefault()).getMonth().equals(now.getMonth()))
-				.mapToDouble(Transaction::getValue).sum();
-		if (sumOfOperationsOnThisMonth + writeOffValue > card.getLimitPerMonth()) {
+		if (spendCounterRepository.getSpentOnMonth(card, today) + writeOffValue > card.getLimitPerMonth()) {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
 					.body(new ResponseErrorDTO("The user has exceeded the monthly transaction limit."));
 		}
-		card.setBalance(Math.round((card.getBalance() - writeOffValue) * 100.0) / 100.0);
-		cardRepository.save(card);
-		Transaction transaction = new Transaction(card, null, TransactionType.WRITEOFF, Instant.now(), writeOffValue);
+		if (cardRepository.withdraw(card.getId(), writeOffValue) == 0)
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+					.body(new ResponseErrorDTO("Insufficient funds on the card"));
+		Transaction transaction = new Transaction(card, null, TransactionType.WRITEOFF, now, writeOffValue);
 		transactionRepository.save(transaction);
+		spendCounterRepository.registerSpending(card, now, writeOffValue);
 		return ResponseEntity.status(HttpStatus.OK).body(null);
 	}
 
+	private boolean isOwner(Card card, AuthenticatedUser user) {
+		return card.getOwner() != null && card.getOwner().getId().equals(user.id());
+	}
+
 }
@@ -0,0 +1,283 @@
+package com.dmcustoms.app.web.filters;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.dmcustoms.app.data.entities.IdempotencyKey;
+import com.dmcustoms.app.data.repositories.IdempotencyKeyRepository;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+	private static final int MAX_KEY_LENGTH = 64;
+
+	private final RequestMatcher requestMatcher = new OrRequestMatcher(
+			PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, "/api/user/transfer"),
+			PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, "/api/user/transfers/batch"),
+			PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, "/api/user/writeoff"));
+
+	private final ConcurrentMap<String, CompletableFuture<IdempotencyKey>> inFlight =
+			new ConcurrentHashMap<String, CompletableFuture<IdempotencyKey>>();
+
+	private final Map<String, IdempotencyKey> recentKeys;
+
+	private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+	private final PlatformTransactionManager transactionManager;
+
+	private final Duration ttl;
+
+	private final Duration lease;
+
+	public IdempotencyFilter(IdempotencyKeyRepository idempotencyKeyRepository,
+			PlatformTransactionManager transactionManager, @Value("${idempotency.ttl:PT24H}") Duration ttl,
+			@Value("${idempotency.lease:PT1M}") Duration lease,
+			@Value("${idempotency.cache-size:10000}") int cacheSize) {
+		this.idempotencyKeyRepository = idempotencyKeyRepository;
+		this.transactionManager = transactionManager;
+		this.ttl = ttl;
+		this.lease = lease;
+		this.recentKeys = Collections.synchronizedMap(new LinkedHashMap<String, IdempotencyKey>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, IdempotencyKey> eldest) {
+				return size() > cacheSize;
+			}
+
+		});
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (key == null || authentication == null || !requestMatcher.matches(request)) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+			response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+					"Idempotency key must contain from 1 to " + MAX_KEY_LENGTH + " characters");
+			return;
+		}
+		String id = authentication.getName() + ":" + request.getRequestURI() + ":" + key;
+		byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+		String requestHash = sha256(body);
+		IdempotencyKey completed = findCompleted(id);
+		if (completed != null) {
+			replay(completed, key, requestHash, response);
+			return;
+		}
+		CompletableFuture<IdempotencyKey> execution = new CompletableFuture<IdempotencyKey>();
+		CompletableFuture<IdempotencyKey> running = this.inFlight.putIfAbsent(id, execution);
+		if (running != null) {
+			completed = running.join();
+			if (completed != null)
+				replay(completed, key, requestHash, response);
+			else
+				response.sendError(HttpServletResponse.SC_CONFLICT,
+						"Request with idempotency key " + key + " has not been completed");
+			return;
+		}
+		try {
+			execution.complete(execute(id, key, requestHash, new CachedBodyRequest(request, body), response,
+					filterChain));
+		} finally {
+			execution.complete(null);
+			this.inFlight.remove(id, execution);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${idempotency.cleanup-interval:PT1H}")
+	public void purgeExpiredKeys() {
+		Instant now = Instant.now();
+		synchronized (this.recentKeys) {
+			this.recentKeys.values().removeIf(idempotencyKey -> idempotencyKey.getKeepUntil().isBefore(now));
+		}
+		int purged = this.idempotencyKeyRepository.deleteExpired(now);
+		log.info("Purged {} expired idempotency keys", purged);
+	}
+
+	private IdempotencyKey findCompleted(String id) {
+		IdempotencyKey idempotencyKey = this.recentKeys.get(id);
+		if (idempotencyKey == null) {
+			idempotencyKey = this.idempotencyKeyRepository.findById(id)
+					.filter(storedKey -> storedKey.getResponseStatus() != null).orElse(null);
+			if (idempotencyKey != null)
+				this.recentKeys.put(id, idempotencyKey);
+		}
+		if (idempotencyKey != null && idempotencyKey.getKeepUntil().isBefore(Instant.now())) {
+			this.recentKeys.remove(id);
+			return null;
+		}
+		return idempotencyKey;
+	}
+
+	private IdempotencyKey execute(String id, String key, String requestHash, HttpServletRequest request,
+			HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+		Instant leaseUntil = Instant.now().plus(this.lease).truncatedTo(ChronoUnit.MICROS);
+		if (this.idempotencyKeyRepository.reserve(id, requestHash, leaseUntil) == 0) {
+			IdempotencyKey completed = findCompleted(id);
+			if (completed != null) {
+				replay(completed, key, requestHash, response);
+				return completed;
+			}
+			response.sendError(HttpServletResponse.SC_CONFLICT,
+					"Request with idempotency key " + key + " is in progress");
+			return null;
+		}
+		ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+		TransactionStatus transaction = this.transactionManager.getTransaction(TransactionDefinition.withDefaults());
+		try {
+			filterChain.doFilter(request, responseWrapper);
+		} catch (ServletException | IOException | RuntimeException e) {
+			this.transactionManager.rollback(transaction);
+			this.idempotencyKeyRepository.release(id, leaseUntil);
+			throw e;
+		}
+		int status = responseWrapper.getStatus();
+		String body = new String(responseWrapper.getContentAsByteArray(), StandardCharsets.UTF_8);
+		Instant keepUntil = Instant.now().plus(this.ttl);
+		if (status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR || transaction.isRollbackOnly()) {
+			this.transactionManager.rollback(transaction);
+			this.idempotencyKeyRepository.release(id, leaseUntil);
+			responseWrapper.copyBodyToResponse();
+			return null;
+		}
+		if (this.idempotencyKeyRepository.complete(id, leaseUntil, status, body, keepUntil) == 0) {
+			this.transactionManager.rollback(transaction);
+			response.sendError(HttpServletResponse.SC_CONFLICT,
+					"Reservation of idempotency key " + key + " expired before the request completed");
+			return null;
+		}
+		this.transactionManager.commit(transaction);
+		IdempotencyKey completed = new IdempotencyKey(id, requestHash, status, body, keepUntil);
+		this.recentKeys.put(id, completed);
+		responseWrapper.copyBodyToResponse();
+		return completed;
+	}
+
+	private void replay(IdempotencyKey idempotencyKey, String key, String requestHash, HttpServletResponse response)
+			throws IOException {
+		if (idempotencyKey.getRequestHash() != null && !idempotencyKey.getRequestHash().equals(requestHash)) {
+			response.sendError(HttpStatus.UNPROCESSABLE_CONTENT.value(),
+					"Idempotency key " + key + " was already used with a different request body");
+			return;
+		}
+		response.setStatus(idempotencyKey.getResponseStatus());
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		response.getWriter().write(idempotencyKey.getResponseBody());
+	}
+
+	private static String sha256(byte[] body) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+		private final byte[] body;
+
+		private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+			super(request);
+			this.body = body;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			ByteArrayInputStream input = new ByteArrayInputStream(this.body);
+			return new ServletInputStream() {
+
+				@Override
+				public int read() {
+					return input.read();
+				}
+
+				@Override
+				public boolean isFinished() {
+					return input.available() == 0;
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				@Override
+				public void setReadListener(ReadListener readListener) {
+					try {
+						if (!isFinished())
+							readListener.onDataAvailable();
+						if (isFinished())
+							readListener.onAllDataRead();
+					} catch (IOException e) {
+						readListener.onError(e);
+					}
+				}
+
+			};
+		}
+
+		@Override
+		public BufferedReader getReader() {
+			Charset charset = getCharacterEncoding() == null ? StandardCharsets.UTF_8
+					: Charset.forName(getCharacterEncoding());
+			return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+		}
+
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.dmcustoms.app.web.filters;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+@Data
+@RequiredArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+	private final RateLimiter rateLimiter;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		long wait = this.rateLimiter.acquire(request,
+				authentication == null || !authentication.isAuthenticated() ? null : authentication.getName());
+		if (wait > 0) {
+			response.setIntHeader(HttpHeaders.RETRY_AFTER, (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait) + 1));
+			response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+			return;
+		}
+		filterChain.doFilter(request, response);
+	}
+
+}
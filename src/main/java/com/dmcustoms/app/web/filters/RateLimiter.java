@@ -0,0 +1,122 @@
+package com.dmcustoms.app.web.filters;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+@Component
+public class RateLimiter {
+
+	private static final int STRIPES = 64;
+
+	private final Route[] routes;
+
+	private final boolean enabled;
+
+	private final Counter rejections;
+
+	public RateLimiter(MeterRegistry meterRegistry, @Value("${rate-limit.enabled:true}") boolean enabled,
+			@Value("${rate-limit.buckets:65536}") int buckets,
+			@Value("${rate-limit.login.capacity:10}") int loginCapacity,
+			@Value("${rate-limit.login.per-minute:10}") int loginPerMinute,
+			@Value("${rate-limit.refresh.capacity:20}") int refreshCapacity,
+			@Value("${rate-limit.refresh.per-minute:20}") int refreshPerMinute,
+			@Value("${rate-limit.transfer.capacity:60}") int transferCapacity,
+			@Value("${rate-limit.transfer.per-minute:60}") int transferPerMinute,
+			@Value("${rate-limit.writeoff.capacity:60}") int writeOffCapacity,
+			@Value("${rate-limit.writeoff.per-minute:60}") int writeOffPerMinute) {
+		this.enabled = enabled;
+		this.rejections = meterRegistry.counter("cards.rate_limit.rejected");
+		int size = Integer.highestOneBit(Math.max(buckets, STRIPES));
+		this.routes = new Route[] {
+				new Route(PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, "/api/auth/login"),
+						loginCapacity, loginPerMinute, size),
+				new Route(PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, "/api/auth/refresh"),
+						refreshCapacity, refreshPerMinute, size),
+				new Route(new OrRequestMatcher(
+						PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, "/api/user/transfer"),
+						PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, "/api/user/transfers/batch")),
+						transferCapacity, transferPerMinute, size),
+				new Route(PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, "/api/user/writeoff"),
+						writeOffCapacity, writeOffPerMinute, size) };
+	}
+
+	public long acquire(HttpServletRequest request, String principal) {
+		if (!this.enabled)
+			return 0;
+		for (Route route : this.routes) {
+			if (!route.matcher.matches(request))
+				continue;
+			long wait = route.acquire(request.getRemoteAddr(), principal);
+			if (wait > 0)
+				this.rejections.increment();
+			return wait;
+		}
+		return 0;
+	}
+
+	private static final class Route {
+
+		private final RequestMatcher matcher;
+
+		private final long emissionInterval;
+
+		private final long burstTolerance;
+
+		private final long[] theoreticalArrivals;
+
+		private final Object[] locks = new Object[STRIPES];
+
+		private final long origin = System.nanoTime();
+
+		private Route(RequestMatcher matcher, int capacity, int perMinute, int size) {
+			this.matcher = matcher;
+			this.emissionInterval = Duration.ofMinutes(1).toNanos() / Math.max(perMinute, 1);
+			this.burstTolerance = this.emissionInterval * (Math.max(capacity, 1) - 1);
+			this.theoreticalArrivals = new long[size];
+			for (int i = 0; i < STRIPES; i++)
+				this.locks[i] = new Object();
+		}
+
+		private long acquire(String address, String principal) {
+			int first = indexOf(address);
+			int second = principal == null ? first : indexOf(principal);
+			long now = System.nanoTime() - this.origin;
+			synchronized (this.locks[Math.min(first & (STRIPES - 1), second & (STRIPES - 1))]) {
+				synchronized (this.locks[Math.max(first & (STRIPES - 1), second & (STRIPES - 1))]) {
+					long wait = Math.max(waitOf(first, now), waitOf(second, now));
+					if (wait > 0)
+						return wait;
+					consume(first, now);
+					if (second != first)
+						consume(second, now);
+					return 0;
+				}
+			}
+		}
+
+		private int indexOf(String key) {
+			int hash = key.hashCode() * 0x9E3779B9;
+			return (hash ^ hash >>> 16) & (this.theoreticalArrivals.length - 1);
+		}
+
+		private long waitOf(int index, long now) {
+			return Math.max(this.theoreticalArrivals[index], now) - now - this.burstTolerance;
+		}
+
+		private void consume(int index, long now) {
+			this.theoreticalArrivals[index] = Math.max(this.theoreticalArrivals[index], now) + this.emissionInterval;
+		}
+
+	}
+
+}
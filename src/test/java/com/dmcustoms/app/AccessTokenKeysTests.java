@@ -0,0 +1,65 @@
+package com.dmcustoms.app;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.dmcustoms.app.data.types.JwtAuthorities;
+import com.dmcustoms.app.jwt.core.AccessTokenKeys;
+import com.dmcustoms.app.jwt.core.Token;
+import com.dmcustoms.app.jwt.serializers.AccessTokenDeserializer;
+import com.dmcustoms.app.jwt.serializers.AccessTokenSerializer;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+
+public class AccessTokenKeysTests {
+
+	private final Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+	private final Token token = new Token(UUID.randomUUID(), "o.solomatin@test.com",
+			Arrays.asList(JwtAuthorities.JWT_ACCESS), now, now.plus(Duration.ofMinutes(5)));
+
+	private ECKey generate(String keyId) throws JOSEException {
+		return new ECKeyGenerator(Curve.P_256).keyID(keyId).generate();
+	}
+
+//	Signing tests
+
+	@Test
+	void test_deserialize_signedToken() throws JOSEException {
+		AccessTokenKeys keys = new AccessTokenKeys(new JWKSet(generate("access-1")), "access-1");
+		String serialized = new AccessTokenSerializer(keys).apply(token);
+		assertEquals(token, new AccessTokenDeserializer(keys).apply(serialized));
+	}
+
+	@Test
+	void test_deserialize_tokenOfRetiredKeyDuringOverlap() throws JOSEException {
+		ECKey retired = generate("access-1");
+		String serialized = new AccessTokenSerializer(new AccessTokenKeys(new JWKSet(retired), "access-1"))
+				.apply(token);
+		AccessTokenKeys rotated = new AccessTokenKeys(
+				new JWKSet(List.<JWK>of(generate("access-2"), retired.toPublicJWK())), "access-2");
+		assertEquals(token, new AccessTokenDeserializer(rotated).apply(serialized));
+		AccessTokenKeys removed = new AccessTokenKeys(new JWKSet(generate("access-2")), "access-2");
+		assertNull(new AccessTokenDeserializer(removed).apply(serialized));
+	}
+
+	@Test
+	void test_publicJwkSet_privatePartsAreNotPublished() throws JOSEException {
+		AccessTokenKeys keys = new AccessTokenKeys(new JWKSet(generate("access-1")), "access-1");
+		assertTrue(keys.getPublicJwkSet().contains("\"kid\":\"access-1\""));
+		assertFalse(keys.getPublicJwkSet().contains("\"d\""));
+	}
+
+}
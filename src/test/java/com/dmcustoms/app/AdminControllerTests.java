@@ -25,8 +25,10 @@ import com.dmcustoms.app.data.dto.CardCreateDTO;
 import com.dmcustoms.app.data.dto.SetLimitsDTO;
 import com.dmcustoms.app.data.dto.UserCreateDTO;
 import com.dmcustoms.app.data.repositories.CardRepository;
+import com.dmcustoms.app.data.repositories.UserRepository;
 import com.dmcustoms.app.data.entities.Card;
 
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
 @SpringBootTest
@@ -42,6 +44,9 @@ public class AdminControllerTests {
 	@Autowired
 	private CardRepository cardRepository;
 
+	@Autowired
+	private UserRepository userRepository;
+
 	@BeforeEach
 	void setUp(ApplicationContext applicationContext) {
 		this.mockMvc = applicationContext.getBean(MockMvc.class);
@@ -73,7 +78,7 @@ public class AdminControllerTests {
 	@Test
 	@WithUserDetails("v.sergeev@test.com")
 	void test_createCard_authorized_notValidCardNumber() throws Exception {
-		CardCreateDTO object = new CardCreateDTO("1234123412341234", 0., 10000000.00, 10000000.00);
+		CardCreateDTO object = new CardCreateDTO("1234123412341234", 0L, 1000000000L, 1000000000L);
 		this.mockMvc
 				.perform(post("/api/admin/cards/create").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -83,7 +88,7 @@ public class AdminControllerTests {
 	@Test
 	@WithUserDetails("v.sergeev@test.com")
 	void test_createCard_authorized_notUniqueCardNumber() throws Exception {
-		CardCreateDTO object = new CardCreateDTO("2202202044507626", 0., 10000000.00, 10000000.00);
+		CardCreateDTO object = new CardCreateDTO("2202202044507626", 0L, 1000000000L, 1000000000L);
 		this.mockMvc
 				.perform(post("/api/admin/cards/create").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -93,7 +98,7 @@ public class AdminControllerTests {
 	@Test
 	@WithUserDetails("v.sergeev@test.com")
 	void test_createCard_authorized_created() throws Exception {
-		CardCreateDTO object = new CardCreateDTO("2200170202743022", 0., 10000000.00, 10000000.00);
+		CardCreateDTO object = new CardCreateDTO("2200170202743022", 0L, 1000000000L, 1000000000L);
 		this.mockMvc
 				.perform(post("/api/admin/cards/create").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -211,7 +216,7 @@ public class AdminControllerTests {
 	@Test
 	@WithUserDetails("v.sergeev@test.com")
 	void test_setLimits_authorized_notValidCardNumber() throws Exception {
-		SetLimitsDTO object = new SetLimitsDTO("1234123412341234", 10000.00, 10000.00);
+		SetLimitsDTO object = new SetLimitsDTO("1234123412341234", 1000000L, 1000000L);
 		this.mockMvc
 				.perform(patch("/api/admin/cards/limits").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -221,7 +226,7 @@ public class AdminControllerTests {
 	@Test
 	@WithUserDetails("v.sergeev@test.com")
 	void test_setLimits_authorized_cardNotFound() throws Exception {
-		SetLimitsDTO object = new SetLimitsDTO("8484307317033105", 10000.00, 10000.00);
+		SetLimitsDTO object = new SetLimitsDTO("8484307317033105", 1000000L, 1000000L);
 		this.mockMvc
 				.perform(patch("/api/admin/cards/limits").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -231,7 +236,7 @@ public class AdminControllerTests {
 	@Test
 	@WithUserDetails("v.sergeev@test.com")
 	void test_setLimits_authorized_ok() throws Exception {
-		SetLimitsDTO object = new SetLimitsDTO("2202202044507626", 10000.00, 10000.00);
+		SetLimitsDTO object = new SetLimitsDTO("2202202044507626", 1000000L, 1000000L);
 		this.mockMvc
 				.perform(patch("/api/admin/cards/limits").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -435,6 +440,28 @@ public class AdminControllerTests {
 		assertEquals(result.getResponse().getContentType(), "application/json");
 	}
 
+	@Test
+	@WithUserDetails("v.sergeev@test.com")
+	void test_getUsers_authorized_cursorWalksAllUsers() throws Exception {
+		int users = 0;
+		String next = null;
+		do {
+			MvcResult result = mockMvc
+					.perform(get("/api/admin/users?size=2" + (next == null ? "" : "&cursor=" + next)))
+					.andExpect(status().isOk()).andReturn();
+			JsonNode slice = this.objectMapper.readTree(result.getResponse().getContentAsString());
+			users += slice.get("content").size();
+			next = slice.get("next").isNull() ? null : slice.get("next").asString();
+		} while (next != null);
+		assertEquals(userRepository.count(), users);
+	}
+
+	@Test
+	@WithUserDetails("v.sergeev@test.com")
+	void test_getUsers_authorized_invalidCursor() throws Exception {
+		this.mockMvc.perform(get("/api/admin/users?size=2&cursor=invalid")).andExpect(status().isBadRequest());
+	}
+
 //	Add card to user test
 
 	@Test
@@ -0,0 +1,55 @@
+package com.dmcustoms.app;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+
+import com.dmcustoms.app.data.encryption.AttributeEncryptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AttributeEncryptorTests {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final AttributeEncryptor attributeEncryptor = new AttributeEncryptor("secretsecretsecr", true, 1,
+			meterRegistry);
+
+	@Test
+	void test_convert_roundTrip() {
+		byte[] encrypted = attributeEncryptor.convertToDatabaseColumn("2202202044507626");
+		assertEquals("2202202044507626", attributeEncryptor.convertToEntityAttribute(encrypted));
+	}
+
+	@Test
+	void test_convert_compatibleWithDefaultAesCipher() throws Exception {
+		Cipher cipher = Cipher.getInstance("AES");
+		cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec("secretsecretsecr".getBytes(), "AES"));
+		byte[] encrypted = cipher.doFinal("2202202044507626".getBytes());
+		assertArrayEquals(encrypted, attributeEncryptor.convertToDatabaseColumn("2202202044507626"));
+		assertEquals("2202202044507626", attributeEncryptor.convertToEntityAttribute(encrypted));
+	}
+
+	@Test
+	void test_convert_decryptionCache() {
+		byte[] first = attributeEncryptor.convertToDatabaseColumn("2202202044507626");
+		byte[] second = attributeEncryptor.convertToDatabaseColumn("7634768028741925");
+		assertEquals("2202202044507626", attributeEncryptor.convertToEntityAttribute(first));
+		assertEquals("2202202044507626", attributeEncryptor.convertToEntityAttribute(first.clone()));
+		assertEquals("7634768028741925", attributeEncryptor.convertToEntityAttribute(second));
+		assertEquals("2202202044507626", attributeEncryptor.convertToEntityAttribute(first));
+		assertEquals(1., meterRegistry.counter("cards.decryption.cache.requests", "result", "hit").count());
+		assertEquals(3., meterRegistry.counter("cards.decryption.cache.requests", "result", "miss").count());
+	}
+
+	@Test
+	void test_convert_nullValues() {
+		assertNull(attributeEncryptor.convertToDatabaseColumn(null));
+		assertNull(attributeEncryptor.convertToEntityAttribute(null));
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.dmcustoms.app;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.dmcustoms.app.jwt.filters.AuthDispatcherFilter;
+
+import tools.jackson.databind.json.JsonMapper;
+
+public class AuthDispatcherFilterTests {
+
+	private final AuthDispatcherFilter filter = new AuthDispatcherFilter(null, null, null, null,
+			JsonMapper.builder().build());
+
+//	Dispatch tests
+
+	@Test
+	void test_doFilter_nonAuthRequestPassesThrough() throws Exception {
+		MockFilterChain filterChain = new MockFilterChain();
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/user/cards"), new MockHttpServletResponse(),
+				filterChain);
+		assertNotNull(filterChain.getRequest());
+	}
+
+	@Test
+	void test_doFilter_wrongMethodPassesThrough() throws Exception {
+		MockFilterChain filterChain = new MockFilterChain();
+		filter.doFilter(new MockHttpServletRequest("POST", "/api/auth/csrf"), new MockHttpServletResponse(),
+				filterChain);
+		assertNotNull(filterChain.getRequest());
+	}
+
+	@Test
+	void test_doFilter_csrfTokenIsWritten() throws Exception {
+		MockFilterChain filterChain = new MockFilterChain();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/auth/csrf"), response, filterChain);
+		assertNull(filterChain.getRequest());
+		assertEquals(200, response.getStatus());
+		assertTrue(response.getContentAsString().contains("\"headerName\":\"X-XSRF-TOKEN\""));
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.dmcustoms.app;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dmcustoms.app.data.entities.Card;
+import com.dmcustoms.app.data.entities.Transaction;
+import com.dmcustoms.app.data.repositories.CardRepository;
+import com.dmcustoms.app.data.repositories.TransactionRepository;
+import com.dmcustoms.app.data.types.TransactionType;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class BatchInsertTests {
+
+	private static final int ROWS = 200;
+
+	@Autowired
+	private CardRepository cardRepository;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+//	Insert batching tests
+
+	@Test
+	void test_saveAll_transactions_insertsAreBatched() {
+		Card card = cardRepository.findCardByCardNumber("2202202044507626").orElseThrow();
+		List<Transaction> transactions = new ArrayList<Transaction>();
+		for (int i = 0; i < ROWS; i++)
+			transactions.add(new Transaction(card, null, TransactionType.WRITEOFF, Instant.now(), 100L));
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		transactionRepository.saveAll(transactions);
+		transactionRepository.flush();
+		assertEquals(ROWS, statistics.getEntityInsertCount());
+		assertTrue(statistics.getPrepareStatementCount() <= 2 * ROWS / 50 + 1,
+				"Prepared " + statistics.getPrepareStatementCount() + " statements for " + ROWS + " inserts");
+	}
+
+//	Id default tests
+
+	@Test
+	void test_databaseInsert_defaultId_doesNotCollideWithPooledIds() {
+		Card card = cardRepository.findCardByCardNumber("2202202044507626").orElseThrow();
+		Long databaseId = jdbcTemplate.queryForObject(
+				"INSERT INTO transactions (transaction_type, transaction_value, card_source, transaction_date) "
+						+ "VALUES (0, 100, ?, now()) RETURNING id",
+				Long.class, card.getId());
+		List<Transaction> transactions = new ArrayList<Transaction>();
+		for (int i = 0; i < ROWS; i++)
+			transactions.add(new Transaction(card, null, TransactionType.WRITEOFF, Instant.now(), 100L));
+		transactionRepository.saveAll(transactions);
+		transactionRepository.flush();
+		assertTrue(transactions.stream().noneMatch(transaction -> transaction.getId().equals(databaseId)));
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.dmcustoms.app;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.dmcustoms.app.security.BoundedPasswordEncoder;
+import com.dmcustoms.app.security.PasswordHashingRejectedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class BoundedPasswordEncoderTests {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private final CountDownLatch started = new CountDownLatch(1);
+
+	private final PasswordEncoder blockingPasswordEncoder = new PasswordEncoder() {
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			return rawPassword.toString();
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return rawPassword.toString().equals(encodedPassword);
+		}
+
+	};
+
+//	Saturation tests
+
+	@Test
+	void test_matches_saturatedExecutor_rejected() throws Exception {
+		try (BoundedPasswordEncoder passwordEncoder = new BoundedPasswordEncoder(blockingPasswordEncoder, 1, 1,
+				Duration.ofSeconds(5), new SimpleMeterRegistry())) {
+			CompletableFuture<Boolean> running = CompletableFuture
+					.supplyAsync(() -> passwordEncoder.matches("password", "password"));
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			CompletableFuture<Boolean> queued = CompletableFuture
+					.supplyAsync(() -> passwordEncoder.matches("password", "password"));
+			Thread.sleep(100);
+			assertThrows(PasswordHashingRejectedException.class, () -> passwordEncoder.matches("password", "password"));
+			release.countDown();
+			assertTrue(running.get(5, TimeUnit.SECONDS));
+			assertTrue(queued.get(5, TimeUnit.SECONDS));
+		}
+	}
+
+}
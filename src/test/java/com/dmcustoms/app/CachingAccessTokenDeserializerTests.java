@@ -0,0 +1,72 @@
+package com.dmcustoms.app;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.dmcustoms.app.data.types.JwtAuthorities;
+import com.dmcustoms.app.jwt.core.Token;
+import com.dmcustoms.app.jwt.serializers.CachingAccessTokenDeserializer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class CachingAccessTokenDeserializerTests {
+
+	private final AtomicInteger verifications = new AtomicInteger();
+
+	private Instant expiresAt = Instant.now().plus(Duration.ofMinutes(5));
+
+	private final UUID tokenId = UUID.randomUUID();
+
+	private final CachingAccessTokenDeserializer deserializer = new CachingAccessTokenDeserializer(token -> {
+		verifications.incrementAndGet();
+		return new Token(tokenId, "o.solomatin@test.com", Arrays.asList(JwtAuthorities.JWT_ACCESS), Instant.now(),
+				expiresAt);
+	}, 10, new SimpleMeterRegistry());
+
+//	Cache tests
+
+	@Test
+	void test_apply_sameTokenIsVerifiedOnce() {
+		Token first = deserializer.apply("header.payload.signature");
+		Token second = deserializer.apply("header.payload.signature");
+		assertSame(first, second);
+		assertEquals(1, verifications.get());
+		deserializer.apply("header.payload.other");
+		assertEquals(2, verifications.get());
+	}
+
+	@Test
+	void test_evict_tokenIsVerifiedAgain() {
+		deserializer.apply("header.payload.signature");
+		deserializer.evict(tokenId);
+		deserializer.apply("header.payload.signature");
+		assertEquals(2, verifications.get());
+	}
+
+	@Test
+	void test_apply_eldestTokenIsEvictedWhenFull() {
+		for (int i = 0; i <= 10; i++)
+			deserializer.apply("header.payload.signature" + i);
+		assertEquals(10, deserializer.size());
+		deserializer.apply("header.payload.signature10");
+		assertEquals(11, verifications.get());
+		deserializer.apply("header.payload.signature0");
+		assertEquals(12, verifications.get());
+	}
+
+	@Test
+	void test_apply_expiredTokenIsNotCached() {
+		expiresAt = Instant.now().minusSeconds(1);
+		deserializer.apply("header.payload.signature");
+		deserializer.apply("header.payload.signature");
+		assertEquals(2, verifications.get());
+	}
+
+}
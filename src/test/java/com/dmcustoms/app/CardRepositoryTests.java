@@ -0,0 +1,99 @@
+package com.dmcustoms.app;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dmcustoms.app.data.entities.Card;
+import com.dmcustoms.app.data.repositories.CardRepository;
+
+@SpringBootTest
+public class CardRepositoryTests {
+
+	@Autowired
+	private CardRepository cardRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+//	Concurrent transfer tests
+
+	@Test
+	void test_transfer_concurrent_balancesAreExact() throws Exception {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+		Card first = cardRepository.findCardByCardNumber("2202202044507626").orElseThrow();
+		Card second = cardRepository.findCardByCardNumber("7634768028741925").orElseThrow();
+		long firstBalance = first.getBalance();
+		long secondBalance = second.getBalance();
+		int threads = 8;
+		int transfersPerThread = 50;
+		AtomicInteger forward = new AtomicInteger();
+		AtomicInteger backward = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (int t = 0; t < threads; t++) {
+				boolean isForward = t % 2 == 0;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < transfersPerThread; i++) {
+						Boolean transferred = transactionTemplate.execute(status -> {
+							boolean result = isForward ? cardRepository.transfer(first, second, 100L)
+									: cardRepository.transfer(second, first, 100L);
+							if (!result)
+								status.setRollbackOnly();
+							return result;
+						});
+						if (transferred)
+							(isForward ? forward : backward).incrementAndGet();
+					}
+				}));
+			}
+			for (Future<?> future : futures)
+				future.get();
+			Card firstAfter = cardRepository.findById(first.getId()).orElseThrow();
+			Card secondAfter = cardRepository.findById(second.getId()).orElseThrow();
+			assertEquals(firstBalance - 100L * (forward.get() - backward.get()), firstAfter.getBalance());
+			assertEquals(secondBalance + 100L * (forward.get() - backward.get()), secondAfter.getBalance());
+		} finally {
+			executor.shutdown();
+			transactionTemplate.executeWithoutResult(status -> {
+				Card firstAfter = cardRepository.findById(first.getId()).orElseThrow();
+				Card secondAfter = cardRepository.findById(second.getId()).orElseThrow();
+				firstAfter.setBalance(firstBalance);
+				secondAfter.setBalance(secondBalance);
+				cardRepository.save(firstAfter);
+				cardRepository.save(secondAfter);
+			});
+		}
+	}
+
+//	Card number lookup tests
+
+	@Test
+	void test_findCardByCardNumber_hashNotBackfilled_fallsBackToCiphertext() {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.update("UPDATE cards SET card_number_hash = NULL");
+			Card card = cardRepository.findCardByCardNumber("2202202044507626").get();
+			assertEquals(2, cardRepository.lockCardsByCardNumbers(card.getOwner().getId(),
+					List.of("2202202044507626", "7634768028741925", "7278005134684082")).size());
+			status.setRollbackOnly();
+		});
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.dmcustoms.app;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dmcustoms.app.data.partitions.TransactionPartitionMaintenance;
+
+@SpringBootTest
+@Transactional
+public class IndexPlanTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionPartitionMaintenance transactionPartitionMaintenance;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+	}
+
+	private String explain(String sql, Object... args) {
+		return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+	}
+
+//	Card index tests
+
+	@Test
+	void test_explain_cardsByOwner_usesOwnerIndex() {
+		String plan = explain("SELECT * FROM cards WHERE card_owner = ?", 1L);
+		assertTrue(plan.contains("idx_cards_card_owner"), plan);
+	}
+
+	@Test
+	void test_explain_cardsWithBlockRequest_usesPartialIndex() {
+		String plan = explain("SELECT * FROM cards WHERE is_block_request = true");
+		assertTrue(plan.contains("idx_cards_block_requests"), plan);
+	}
+
+//	Transaction index tests
+
+	@Test
+	void test_explain_transactionsBySource_usesSourceDateIndexWithoutSort() {
+		String plan = explain("SELECT * FROM transactions WHERE card_source = ? "
+				+ "ORDER BY transaction_date DESC, id DESC LIMIT 20", 1L);
+		assertTrue(plan.contains("card_source_transaction_date_id_idx"), plan);
+		assertFalse(plan.contains("Sort"), plan);
+	}
+
+	@Test
+	void test_explain_transactionsByRecipient_usesRecipientIndex() {
+		String plan = explain("SELECT 1 FROM transactions WHERE card_recipient = ?", 1L);
+		assertTrue(plan.contains("card_recipient_idx"), plan);
+	}
+
+//	Partition pruning tests
+
+	@Test
+	void test_explain_transactionsFromNextMonth_prunesOlderPartitions() {
+		transactionPartitionMaintenance.maintain();
+		YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+		Timestamp from = Timestamp.from(currentMonth.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+		String plan = explain("SELECT * FROM transactions WHERE card_source = ? AND transaction_date >= ?", 1L, from);
+		DateTimeFormatter suffix = DateTimeFormatter.ofPattern("yyyyMM");
+		assertTrue(plan.contains("transactions_p" + currentMonth.plusMonths(1).format(suffix)), plan);
+		assertFalse(plan.contains("transactions_p" + currentMonth.format(suffix)), plan);
+		assertFalse(plan.contains("transactions_legacy"), plan);
+	}
+
+	@Test
+	void test_maintain_createsPartitionsAhead() {
+		transactionPartitionMaintenance.maintain();
+		String partition = "transactions_p" + YearMonth.now(ZoneOffset.UTC).plusMonths(3)
+				.format(DateTimeFormatter.ofPattern("yyyyMM"));
+		assertEquals(1, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE c.relname = ?",
+				Integer.class, partition));
+	}
+
+	@Test
+	void test_maintain_movesDefaultPartitionRowsIntoNewPartition() {
+		YearMonth month = YearMonth.now(ZoneOffset.UTC).plusMonths(3);
+		String partition = "transactions_p" + month.format(DateTimeFormatter.ofPattern("yyyyMM"));
+		jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+		Long id = jdbcTemplate.queryForObject(
+				"INSERT INTO transactions (transaction_type, transaction_value, card_source, transaction_date) "
+						+ "VALUES (0, 100, (SELECT MIN(id) FROM cards), ?) RETURNING id",
+				Long.class, Timestamp.from(month.atDay(15).atStartOfDay(ZoneOffset.UTC).toInstant()));
+		transactionPartitionMaintenance.maintain();
+		assertEquals(partition, jdbcTemplate.queryForObject(
+				"SELECT tableoid::regclass::text FROM transactions WHERE id = ?", String.class, id));
+	}
+
+}
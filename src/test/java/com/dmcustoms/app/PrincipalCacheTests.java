@@ -0,0 +1,61 @@
+package com.dmcustoms.app;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.dmcustoms.app.data.types.Authorities;
+import com.dmcustoms.app.jwt.revocation.TokenRevocationChannel;
+import com.dmcustoms.app.security.AuthenticatedUser;
+import com.dmcustoms.app.security.PrincipalCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class PrincipalCacheTests {
+
+	private final PrincipalCache principalCache = new PrincipalCache(new SimpleMeterRegistry(),
+			new TokenRevocationChannel(null, null, false), Duration.ofMinutes(1), 10);
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private Optional<AuthenticatedUser> load(String email) {
+		loads.incrementAndGet();
+		return Optional.of(new AuthenticatedUser(1L, email, null, AuthenticatedUser.maskOf(Authorities.USER), false,
+				null));
+	}
+
+//	Cache tests
+
+	@Test
+	void test_get_principalIsCached() {
+		AuthenticatedUser first = principalCache.get("o.solomatin@test.com", this::load).orElseThrow();
+		AuthenticatedUser second = principalCache.get("o.solomatin@test.com", this::load).orElseThrow();
+		assertEquals(1, loads.get());
+		assertEquals(first, second);
+		assertEquals(Arrays.asList(Authorities.USER), second.getAuthorities());
+	}
+
+	@Test
+	void test_invalidate_principalIsReloaded() {
+		principalCache.get("o.solomatin@test.com", this::load);
+		principalCache.invalidate("o.solomatin@test.com");
+		principalCache.get("o.solomatin@test.com", this::load);
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void test_invalidate_duringLoad_principalIsNotCached() {
+		principalCache.get("o.solomatin@test.com", email -> {
+			principalCache.invalidate(email);
+			return load(email);
+		});
+		principalCache.get("o.solomatin@test.com", this::load);
+		assertEquals(2, loads.get());
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.dmcustoms.app;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dmcustoms.app.data.entities.Card;
+import com.dmcustoms.app.data.entities.Transaction;
+import com.dmcustoms.app.data.repositories.CardRepository;
+import com.dmcustoms.app.data.repositories.CardView;
+import com.dmcustoms.app.data.repositories.TransactionRepository;
+import com.dmcustoms.app.data.repositories.TransactionView;
+import com.dmcustoms.app.data.types.TransactionType;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class ProjectionQueryTests {
+
+	private static final int ROWS = 100;
+
+	@Autowired
+	private CardRepository cardRepository;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		return statistics;
+	}
+
+//	Transaction listing tests
+
+	@Test
+	void test_findLatestTransactionViewsBySource_singleStatement() {
+		Card source = cardRepository.findCardByCardNumber("2202202044507626").orElseThrow();
+		Card recipient = cardRepository.findCardByCardNumber("7634768028741925").orElseThrow();
+		List<Transaction> transactions = new ArrayList<Transaction>();
+		for (int i = 0; i < ROWS; i++)
+			transactions.add(new Transaction(source, recipient, TransactionType.TRANSFER, Instant.now(), 100L));
+		transactionRepository.saveAll(transactions);
+		transactionRepository.flush();
+		entityManager.clear();
+		Statistics statistics = statistics();
+		Slice<TransactionView> views = transactionRepository.findLatestTransactionViewsBySource(source,
+				PageRequest.ofSize(ROWS));
+		assertEquals(ROWS, views.getNumberOfElements());
+		assertEquals("7634768028741925", views.getContent().getFirst().cardRecipientNumber());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+//	Card listing tests
+
+	@Test
+	void test_findCardViews_singleStatement() {
+		entityManager.clear();
+		Statistics statistics = statistics();
+		Slice<CardView> views = cardRepository.findCardViews(PageRequest.of(0, ROWS));
+		assertFalse(views.isEmpty());
+		assertTrue(views.stream().anyMatch(view -> "o.solomatin@test.com".equals(view.ownerEmail())));
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.dmcustoms.app;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.dmcustoms.app.web.filters.RateLimiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class RateLimiterTests {
+
+	private final RateLimiter rateLimiter = new RateLimiter(new SimpleMeterRegistry(), true, 1024, 3, 1, 20, 20, 2,
+			60, 60, 60);
+
+	private MockHttpServletRequest request(String uri, String address) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+		request.setRemoteAddr(address);
+		return request;
+	}
+
+//	Limit tests
+
+	@Test
+	void test_acquire_loginIsRejectedAfterBurst() {
+		for (int i = 0; i < 3; i++)
+			assertEquals(0, rateLimiter.acquire(request("/api/auth/login", "10.0.0.1"), null));
+		assertTrue(rateLimiter.acquire(request("/api/auth/login", "10.0.0.1"), null) > 0);
+		assertEquals(0, rateLimiter.acquire(request("/api/auth/login", "10.0.0.2"), null));
+	}
+
+	@Test
+	void test_acquire_transferIsLimitedByPrincipal() {
+		assertEquals(0, rateLimiter.acquire(request("/api/user/transfer", "10.0.0.3"), "o.solomatin@test.com"));
+		assertEquals(0, rateLimiter.acquire(request("/api/user/transfer", "10.0.0.4"), "o.solomatin@test.com"));
+		assertTrue(rateLimiter.acquire(request("/api/user/transfer", "10.0.0.5"), "o.solomatin@test.com") > 0);
+		assertEquals(0, rateLimiter.acquire(request("/api/user/transfer", "10.0.0.5"), "e.levchenko@test.com"));
+	}
+
+	@Test
+	void test_acquire_rejectedPrincipalDoesNotConsumeAddress() {
+		assertEquals(0, rateLimiter.acquire(request("/api/user/transfer", "10.0.0.8"), "i.ivanov@test.com"));
+		assertEquals(0, rateLimiter.acquire(request("/api/user/transfer", "10.0.0.9"), "i.ivanov@test.com"));
+		assertTrue(rateLimiter.acquire(request("/api/user/transfer", "10.0.0.10"), "i.ivanov@test.com") > 0);
+		assertEquals(0, rateLimiter.acquire(request("/api/user/transfer", "10.0.0.10"), "s.petrov@test.com"));
+		assertEquals(0, rateLimiter.acquire(request("/api/user/transfer", "10.0.0.10"), "v.sergeev@test.com"));
+	}
+
+	@Test
+	void test_acquire_otherRoutesAreNotLimited() {
+		for (int i = 0; i < 100; i++)
+			assertEquals(0, rateLimiter.acquire(request("/api/user/cards", "10.0.0.6"), "o.solomatin@test.com"));
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.dmcustoms.app;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.dmcustoms.app.data.types.JwtAuthorities;
+import com.dmcustoms.app.jwt.core.Token;
+import com.dmcustoms.app.jwt.serializers.TokenClaimsCodec;
+
+public class TokenClaimsCodecTests {
+
+	private final Token token = new Token(UUID.randomUUID(), "o.solomatin@test.com",
+			Arrays.asList(JwtAuthorities.JWT_REFRESH, JwtAuthorities.JWT_LOGOUT), Instant.ofEpochSecond(1700000000),
+			Instant.ofEpochSecond(1700086400));
+
+//	Codec tests
+
+	@Test
+	void test_decode_encodedToken() {
+		String json = TokenClaimsCodec.encode(token);
+		assertEquals(token, TokenClaimsCodec.decode(json.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void test_decode_tokenEpoch() {
+		Token epochToken = new Token(token.getId(), token.getSubject(), token.getAuthorities(),
+				token.getCreatedAt(), token.getExpiresAt(), 3);
+		String json = TokenClaimsCodec.encode(epochToken);
+		assertEquals(epochToken, TokenClaimsCodec.decode(json.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void test_decode_legacyAuthoritiesClaim() {
+		String json = "{\"sub\":\"o.solomatin@test.com\",\"authorities\":[\"JWT_REFRESH\",\"JWT_LOGOUT\"],"
+				+ "\"exp\":1700086400,\"iat\":1700000000,\"jti\":\"" + token.getId() + "\"}";
+		assertEquals(token, TokenClaimsCodec.decode(json.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void test_decode_malformedClaims() {
+		String json = TokenClaimsCodec.encode(token);
+		assertNull(TokenClaimsCodec.decode(json.substring(0, json.length() - 1).getBytes(StandardCharsets.UTF_8)));
+		assertNull(TokenClaimsCodec.decode("{\"jti\":1}".getBytes(StandardCharsets.UTF_8)));
+	}
+
+}
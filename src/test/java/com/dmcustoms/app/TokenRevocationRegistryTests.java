@@ -0,0 +1,133 @@
+package com.dmcustoms.app;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dmcustoms.app.data.entities.DeactivatedToken;
+import com.dmcustoms.app.data.repositories.DeactivatedTokenRepository;
+import com.dmcustoms.app.data.repositories.TokenEpochRepository;
+import com.dmcustoms.app.data.repositories.UserRepository;
+import com.dmcustoms.app.data.types.JwtAuthorities;
+import com.dmcustoms.app.jwt.core.Token;
+import com.dmcustoms.app.jwt.revocation.DeactivatedTokenPurge;
+import com.dmcustoms.app.jwt.revocation.TokenRevocationRegistry;
+
+@SpringBootTest
+@Transactional
+public class TokenRevocationRegistryTests {
+
+	@Autowired
+	private TokenRevocationRegistry tokenRevocationRegistry;
+
+	@Autowired
+	private DeactivatedTokenRepository deactivatedTokenRepository;
+
+	@Autowired
+	private DeactivatedTokenPurge deactivatedTokenPurge;
+
+	@Autowired
+	private TokenEpochRepository tokenEpochRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+//	Revocation tests
+
+	@Test
+	void test_revoke_tokenIsRevokedAndStored() {
+		UUID revoked = UUID.randomUUID();
+		tokenRevocationRegistry.revoke(revoked, Instant.now().plus(Duration.ofMinutes(5)));
+		assertTrue(tokenRevocationRegistry.isRevoked(revoked));
+		assertTrue(deactivatedTokenRepository.existsById(revoked));
+		assertFalse(tokenRevocationRegistry.isRevoked(UUID.randomUUID()));
+	}
+
+	@Test
+	void test_evictExpired_revokedTokenIsKept() {
+		UUID revoked = UUID.randomUUID();
+		tokenRevocationRegistry.revoke(revoked, Instant.now().plus(Duration.ofMinutes(5)));
+		tokenRevocationRegistry.evictExpired();
+		assertTrue(tokenRevocationRegistry.isRevoked(revoked));
+	}
+
+	@Test
+	void test_evictExpired_expiredTokenIsRemoved() throws InterruptedException {
+		UUID expired = UUID.randomUUID();
+		tokenRevocationRegistry.revoke(expired, Instant.now().plus(Duration.ofMillis(200)));
+		assertTrue(tokenRevocationRegistry.isRevoked(expired));
+		Thread.sleep(300);
+		tokenRevocationRegistry.evictExpired();
+		assertFalse(tokenRevocationRegistry.isRevoked(expired));
+	}
+
+	@Test
+	void test_revokeAll_tokensOfPreviousEpochAreRevoked() {
+		String email = "e.levchenko@test.com";
+		Instant now = Instant.now();
+		Token issued = new Token(UUID.randomUUID(), email, Arrays.asList(JwtAuthorities.JWT_ACCESS), now,
+				now.plus(Duration.ofMinutes(5)), tokenRevocationRegistry.epochOf(email));
+		long revokedTokens = deactivatedTokenRepository.count();
+		assertFalse(tokenRevocationRegistry.isRevoked(issued));
+		tokenRevocationRegistry.revokeAll(email);
+		assertTrue(tokenRevocationRegistry.isRevoked(issued));
+		assertEquals(revokedTokens, deactivatedTokenRepository.count());
+		Token reissued = new Token(UUID.randomUUID(), email, Arrays.asList(JwtAuthorities.JWT_ACCESS), now,
+				now.plus(Duration.ofMinutes(5)), tokenRevocationRegistry.epochOf(email));
+		assertFalse(tokenRevocationRegistry.isRevoked(reissued));
+	}
+
+	@Test
+	void test_revokeAll_epochOutlivesDeletedUser() {
+		String email = "i.ivanov@test.com";
+		tokenRevocationRegistry.revokeAll(email);
+		userRepository.delete(userRepository.findUserByEmail(email).get());
+		userRepository.flush();
+		assertEquals(tokenRevocationRegistry.epochOf(email), tokenEpochRepository.findById(email).get().getTokenEpoch());
+	}
+
+//	Purge tests
+
+	@Test
+	void test_purge_expiredTokensAreDeleted() {
+		UUID expired = UUID.randomUUID();
+		UUID active = UUID.randomUUID();
+		deactivatedTokenRepository.saveAndFlush(
+				new DeactivatedToken(expired, Date.from(Instant.now().minus(Duration.ofHours(1)))));
+		deactivatedTokenRepository.saveAndFlush(
+				new DeactivatedToken(active, Date.from(Instant.now().plus(Duration.ofHours(1)))));
+		deactivatedTokenPurge.purge();
+		assertFalse(deactivatedTokenRepository.existsById(expired));
+		assertTrue(deactivatedTokenRepository.existsById(active));
+	}
+
+	@Test
+	void test_purge_movesDefaultPartitionRowsIntoNewPartition() {
+		LocalDate day = LocalDate.now(ZoneOffset.UTC).plusDays(1);
+		String partition = "deactivated_token_p" + day.format(DateTimeFormatter.BASIC_ISO_DATE);
+		jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+		UUID revoked = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO deactivated_token (id, keep_until) VALUES (?, ?::timestamp)", revoked,
+				day.atTime(12, 0).toString());
+		deactivatedTokenPurge.purge();
+		assertEquals(partition, jdbcTemplate.queryForObject(
+				"SELECT tableoid::regclass::text FROM deactivated_token WHERE id = ?", String.class, revoked));
+	}
+
+}
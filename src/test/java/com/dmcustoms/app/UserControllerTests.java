@@ -2,11 +2,15 @@ package com.dmcustoms.app;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,7 +23,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.dmcustoms.app.data.dto.BatchTransferDTO;
 import com.dmcustoms.app.data.dto.TransferDTO;
+import com.dmcustoms.app.data.dto.TransferResultDTO;
 import com.dmcustoms.app.data.dto.WriteOffDTO;
 
 import tools.jackson.databind.ObjectMapper;
@@ -117,6 +123,26 @@ public class UserControllerTests {
 				.andExpect(status().isOk());
 	}
 
+//	Export transactions tests
+
+	@Test
+	@WithUserDetails("e.levchenko@test.com")
+	void test_exportTransactions_authorized_userIsNotOwnerOfCard() throws Exception {
+		this.mockMvc.perform(get("/api/user/transactions/2202202044507626/export"))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	@WithUserDetails("o.solomatin@test.com")
+	void test_exportTransactions_authorized_ok() throws Exception {
+		MvcResult result = this.mockMvc.perform(get("/api/user/transactions/2202202044507626/export"))
+				.andExpect(request().asyncStarted()).andReturn();
+		this.mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+		assertEquals(MediaType.APPLICATION_NDJSON_VALUE, result.getResponse().getContentType());
+		for (String line : result.getResponse().getContentAsString().lines().toList())
+			assertTrue(this.objectMapper.readTree(line).has("cardSourceNumber"));
+	}
+
 //	Transfer between user cards tests
 
 	@Test
@@ -137,17 +163,28 @@ public class UserControllerTests {
 	@Test
 	@WithUserDetails("o.solomatin@test.com")
 	void test_transfer_authorized_notValidFields() throws Exception {
-		TransferDTO object = new TransferDTO("1234123412341234", "1234123412341234", -1.);
+		TransferDTO object = new TransferDTO("1234123412341234", "1234123412341234", -100L);
 		this.mockMvc
 				.perform(post("/api/user/transfer").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
 				.andExpect(status().isBadRequest());
 	}
 
+	@Test
+	@WithUserDetails("o.solomatin@test.com")
+	void test_transfer_authorized_valueOutOfRange() throws Exception {
+		this.mockMvc
+				.perform(post("/api/user/transfer").with(csrf()).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"cardSourceNumber\":\"2202202044507626\",\"cardRecipientNumber\":"
+								+ "\"7634768028741925\",\"value\":100000000000000000000}")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+	}
+
 	@Test
 	@WithUserDetails("o.solomatin@test.com")
 	void test_transfer_authorized_cardOneIsNotFound() throws Exception {
-		TransferDTO object = new TransferDTO("4922446341334532", "2202202044507626", 1500.00);
+		TransferDTO object = new TransferDTO("4922446341334532", "2202202044507626", 150000L);
 		this.mockMvc
 				.perform(post("/api/user/transfer").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -157,7 +194,7 @@ public class UserControllerTests {
 	@Test
 	@WithUserDetails("o.solomatin@test.com")
 	void test_transfer_authorized_cardTwoIsNotFound() throws Exception {
-		TransferDTO object = new TransferDTO("2202202044507626", "4922446341334532", 1500.00);
+		TransferDTO object = new TransferDTO("2202202044507626", "4922446341334532", 150000L);
 		this.mockMvc
 				.perform(post("/api/user/transfer").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -167,7 +204,7 @@ public class UserControllerTests {
 	@Test
 	@WithUserDetails("o.solomatin@test.com")
 	void test_transfer_authorized_cardOneIsBlocked() throws Exception {
-		TransferDTO object = new TransferDTO("3010570969331598", "2202202044507626", 1500.00);
+		TransferDTO object = new TransferDTO("3010570969331598", "2202202044507626", 150000L);
 		this.mockMvc
 				.perform(post("/api/user/transfer").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -177,7 +214,7 @@ public class UserControllerTests {
 	@Test
 	@WithUserDetails("o.solomatin@test.com")
 	void test_transfer_authorized_cardTwoIsBlocked() throws Exception {
-		TransferDTO object = new TransferDTO("3010570969331598", "3010570969331598", 1500.00);
+		TransferDTO object = new TransferDTO("3010570969331598", "3010570969331598", 150000L);
 		this.mockMvc
 				.perform(post("/api/user/transfer").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -187,7 +224,7 @@ public class UserControllerTests {
 	@Test
 	@WithUserDetails("o.solomatin@test.com")
 	void test_transfer_authorized_userIsNotOwnerOfCardOne() throws Exception {
-		TransferDTO object = new TransferDTO("7278005134684082", "2202202044507626", 1500.00);
+		TransferDTO object = new TransferDTO("7278005134684082", "2202202044507626", 150000L);
 		this.mockMvc
 				.perform(post("/api/user/transfer").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -197,7 +234,7 @@ public class UserControllerTests {
 	@Test
 	@WithUserDetails("o.solomatin@test.com")
 	void test_transfer_authorized_userIsNotOwnerOfCardTwo() throws Exception {
-		TransferDTO object = new TransferDTO("2202202044507626", "7278005134684082", 1500.00);
+		TransferDTO object = new TransferDTO("2202202044507626", "7278005134684082", 150000L);
 		this.mockMvc
 				.perform(post("/api/user/transfer").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -207,7 +244,7 @@ public class UserControllerTests {
 	@Test
 	@WithUserDetails("o.solomatin@test.com")
 	void test_transfer_authorized_insufficientFunds() throws Exception {
-		TransferDTO object = new TransferDTO("2202202044507626", "7634768028741925", 25000.00);
+		TransferDTO object = new TransferDTO("2202202044507626", "7634768028741925", 2500000L);
 		this.mockMvc
 				.perform(post("/api/user/transfer").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -217,13 +254,62 @@ public class UserControllerTests {
 	@Test
 	@WithUserDetails("o.solomatin@test.com")
 	void test_transfer_authorized_ok() throws Exception {
-		TransferDTO object = new TransferDTO("2202202044507626", "7634768028741925", 1500.00);
+		TransferDTO object = new TransferDTO("2202202044507626", "7634768028741925", 150000L);
 		this.mockMvc
 				.perform(post("/api/user/transfer").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
 				.andExpect(status().isOk());
 	}
 
+//	Batch transfer between user cards tests
+
+	@Test
+	void test_transferBatch_unauthorized() throws Exception {
+		this.mockMvc.perform(post("/api/user/transfers/batch")).andExpect(status().isForbidden());
+	}
+
+	@Test
+	@WithUserDetails("o.solomatin@test.com")
+	void test_transferBatch_authorized_emptyTransfers() throws Exception {
+		BatchTransferDTO object = new BatchTransferDTO(List.of());
+		this.mockMvc
+				.perform(post("/api/user/transfers/batch").with(csrf()).contentType(MediaType.APPLICATION_JSON)
+						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@WithUserDetails("o.solomatin@test.com")
+	void test_transferBatch_authorized_notValidFields() throws Exception {
+		BatchTransferDTO object = new BatchTransferDTO(
+				List.of(new TransferDTO("1234123412341234", "1234123412341234", -100L)));
+		this.mockMvc
+				.perform(post("/api/user/transfers/batch").with(csrf()).contentType(MediaType.APPLICATION_JSON)
+						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@WithUserDetails("o.solomatin@test.com")
+	void test_transferBatch_authorized_ok() throws Exception {
+		BatchTransferDTO object = new BatchTransferDTO(List.of(
+				new TransferDTO("2202202044507626", "7634768028741925", 150000L),
+				new TransferDTO("4922446341334532", "2202202044507626", 150000L),
+				new TransferDTO("2202202044507626", "7278005134684082", 150000L),
+				new TransferDTO("7634768028741925", "2202202044507626", 2500000L)));
+		MvcResult result = this.mockMvc
+				.perform(post("/api/user/transfers/batch").with(csrf()).contentType(MediaType.APPLICATION_JSON)
+						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andReturn();
+		TransferResultDTO[] results = this.objectMapper.readValue(result.getResponse().getContentAsString(),
+				TransferResultDTO[].class);
+		assertEquals(4, results.length);
+		assertEquals(200, results[0].status());
+		assertEquals(404, results[1].status());
+		assertEquals(403, results[2].status());
+		assertEquals(400, results[3].status());
+	}
+
 //	Write off tests
 
 	@Test
@@ -244,7 +330,7 @@ public class UserControllerTests {
 	@Test
 	@WithUserDetails("e.levchenko@test.com")
 	void test_writeOff_authorized_notValidFields() throws Exception {
-		WriteOffDTO object = new WriteOffDTO("1234123412341234", -1.);
+		WriteOffDTO object = new WriteOffDTO("1234123412341234", -100L);
 		this.mockMvc
 				.perform(post("/api/user/writeoff").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -254,7 +340,7 @@ public class UserControllerTests {
 	@Test
 	@WithUserDetails("e.levchenko@test.com")
 	void test_writeOff_authorized_cardIsNotFound() throws Exception {
-		WriteOffDTO object = new WriteOffDTO("9600530939276052", 1000.00);
+		WriteOffDTO object = new WriteOffDTO("9600530939276052", 100000L);
 		this.mockMvc
 				.perform(post("/api/user/writeoff").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -264,7 +350,7 @@ public class UserControllerTests {
 	@Test
 	@WithUserDetails("o.solomatin@test.com")
 	void test_writeOff_authorized_cardIsBlocked() throws Exception {
-		WriteOffDTO object = new WriteOffDTO("3010570969331598", 1000.00);
+		WriteOffDTO object = new WriteOffDTO("3010570969331598", 100000L);
 		this.mockMvc
 				.perform(post("/api/user/writeoff").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -274,7 +360,7 @@ public class UserControllerTests {
 	@Test
 	@WithUserDetails("e.levchenko@test.com")
 	void test_writeOff_authorized_userIsNotOwnerOfCard() throws Exception {
-		WriteOffDTO object = new WriteOffDTO("2202202044507626", 1000.00);
+		WriteOffDTO object = new WriteOffDTO("2202202044507626", 100000L);
 		this.mockMvc
 				.perform(post("/api/user/writeoff").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -284,7 +370,7 @@ public class UserControllerTests {
 	@Test
 	@WithUserDetails("e.levchenko@test.com")
 	void test_writeOff_authorized_insufficientFunds() throws Exception {
-		WriteOffDTO object = new WriteOffDTO("7278005134684082", 150000.00);
+		WriteOffDTO object = new WriteOffDTO("7278005134684082", 15000000L);
 		this.mockMvc
 				.perform(post("/api/user/writeoff").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
@@ -294,17 +380,61 @@ public class UserControllerTests {
 	@Test
 	@WithUserDetails("e.levchenko@test.com")
 	void test_writeOff_authorized_exceededLimit() throws Exception {
-		WriteOffDTO object = new WriteOffDTO("7278005134684082", 80000.00);
+		WriteOffDTO object = new WriteOffDTO("7278005134684082", 8000000L);
+		this.mockMvc
+				.perform(post("/api/user/writeoff").with(csrf()).contentType(MediaType.APPLICATION_JSON)
+						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@WithUserDetails("e.levchenko@test.com")
+	void test_writeOff_authorized_exceededLimitByPreviousWriteOffs() throws Exception {
+		WriteOffDTO object = new WriteOffDTO("7278005134684082", 4000000L);
+		this.mockMvc
+				.perform(post("/api/user/writeoff").with(csrf()).contentType(MediaType.APPLICATION_JSON)
+						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk());
 		this.mockMvc
 				.perform(post("/api/user/writeoff").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
 				.andExpect(status().isBadRequest());
 	}
 
+	@Test
+	@WithUserDetails("e.levchenko@test.com")
+	void test_writeOff_authorized_repeatedIdempotencyKey() throws Exception {
+		WriteOffDTO object = new WriteOffDTO("7278005134684082", 4000000L);
+		for (int i = 0; i < 2; i++) {
+			this.mockMvc
+					.perform(post("/api/user/writeoff").with(csrf()).header("Idempotency-Key", "writeoff-1")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk());
+		}
+	}
+
+	@Test
+	@WithUserDetails("e.levchenko@test.com")
+	void test_writeOff_authorized_idempotencyKeyReusedWithDifferentBody() throws Exception {
+		this.mockMvc
+				.perform(post("/api/user/writeoff").with(csrf()).header("Idempotency-Key", "writeoff-2")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(this.objectMapper.writeValueAsString(new WriteOffDTO("7278005134684082", 100L)))
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk());
+		this.mockMvc
+				.perform(post("/api/user/writeoff").with(csrf()).header("Idempotency-Key", "writeoff-2")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(this.objectMapper.writeValueAsString(new WriteOffDTO("7278005134684082", 200L)))
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isUnprocessableContent());
+	}
+
 	@Test
 	@WithUserDetails("e.levchenko@test.com")
 	void test_writeOff_authorized_ok() throws Exception {
-		WriteOffDTO object = new WriteOffDTO("7278005134684082", 10000.00);
+		WriteOffDTO object = new WriteOffDTO("7278005134684082", 1000000L);
 		this.mockMvc
 				.perform(post("/api/user/writeoff").with(csrf()).contentType(MediaType.APPLICATION_JSON)
 						.content(this.objectMapper.writeValueAsString(object)).accept(MediaType.APPLICATION_JSON))